@@ -0,0 +1,64 @@
+package com.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.service.MeetingService;
+
+// Conflict detection for a meeting with every attendee, against a fully loaded index
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ConflictBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int meetingsPerEmployee;
+
+    @Param({ "2", "20", "200" })
+    public int attendees;
+
+    private MeetingService meetingService;
+    private Meeting busyMeeting;
+    private Meeting freeMeeting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = SyntheticCalendars.employees(attendees);
+        meetingService = SyntheticCalendars.meetingService(employees, meetingsPerEmployee);
+
+        // Mid-morning on the middle day hits some calendars; the evening is free for everyone
+        LocalDateTime morning = SyntheticCalendars.middleDay(meetingsPerEmployee).atTime(10, 0);
+        busyMeeting = new Meeting(morning, morning.plusHours(1), employees.get(0), employees);
+        LocalDateTime evening = morning.withHour(20);
+        freeMeeting = new Meeting(evening, evening.plusHours(1), employees.get(0), employees);
+    }
+
+    @Benchmark
+    public List<Employee> findParticipantsWithConflicts() {
+        return meetingService.findParticipantsWithConflicts(busyMeeting);
+    }
+
+    @Benchmark
+    public List<Employee> findParticipantsWithoutConflicts() {
+        return meetingService.findParticipantsWithConflicts(freeMeeting);
+    }
+}
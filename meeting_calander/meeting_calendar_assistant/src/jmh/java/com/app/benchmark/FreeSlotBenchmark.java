@@ -0,0 +1,84 @@
+package com.app.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.entities.Employee;
+import com.app.service.EpochMinutes;
+import com.app.service.FreeSlotCalculator;
+import com.app.service.MeetingService;
+
+// Free-slot search: the raw merge and gap scan over whole calendars, and the end-to-end
+// MeetingService.findFreeSlots call for one day against a fully loaded index.
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class FreeSlotBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int meetingsPerEmployee;
+
+    @Param({ "2", "20", "200" })
+    public int attendees;
+
+    private long[][] calendars;
+    private long[] merged;
+    private long horizonStart;
+    private long horizonEnd;
+
+    private MeetingService meetingService;
+    private List<Employee> employees;
+    private LocalDateTime dayStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        calendars = new long[attendees][];
+        for (int i = 0; i < attendees; i++) {
+            calendars[i] = SyntheticCalendars.calendarMinutes(i + 1, meetingsPerEmployee);
+        }
+        merged = FreeSlotCalculator.mergeBusyTimes(calendars);
+        horizonStart = EpochMinutes.floor(SyntheticCalendars.FIRST_DAY.atStartOfDay());
+        horizonEnd = horizonStart + SyntheticCalendars.horizonDays(meetingsPerEmployee) * EpochMinutes.MINUTES_PER_DAY;
+
+        employees = SyntheticCalendars.employees(attendees);
+        meetingService = SyntheticCalendars.meetingService(employees, meetingsPerEmployee);
+        LocalDate day = SyntheticCalendars.middleDay(meetingsPerEmployee);
+        dayStart = day.atStartOfDay();
+    }
+
+    @Benchmark
+    public long[] mergeBusyTimes() {
+        return FreeSlotCalculator.mergeBusyTimes(calendars);
+    }
+
+    @Benchmark
+    public long[] findFreeTimeSlots() {
+        return FreeSlotCalculator.findFreeTimeSlots(merged, horizonStart, horizonEnd, 30, 30, 9 * 60, 17 * 60);
+    }
+
+    @Benchmark
+    public List<LocalDateTime> findFreeSlotsForDay() {
+        return meetingService.findFreeSlots(employees, Duration.ofMinutes(30), Duration.ofMinutes(15), dayStart,
+                dayStart.plusDays(1), LocalTime.of(9, 0), LocalTime.of(17, 0));
+    }
+}
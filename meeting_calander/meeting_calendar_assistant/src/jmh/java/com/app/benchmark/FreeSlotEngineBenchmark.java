@@ -0,0 +1,64 @@
+package com.app.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.entities.Employee;
+import com.app.service.MeetingService;
+
+// Interval merge vs cached day bitsets for the same end-to-end MeetingService.findFreeSlots call
+// over a day and a working week. Result caching is off, so the bitset engine pays only for ORing
+// and scanning the attendees' cached day bitsets.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class FreeSlotEngineBenchmark {
+
+    @Param({ "intervals", "bitset" })
+    public String engine;
+
+    @Param({ "1000", "100000" })
+    public int meetingsPerEmployee;
+
+    @Param({ "2", "20", "200" })
+    public int attendees;
+
+    @Param({ "1", "5" })
+    public int days;
+
+    private MeetingService meetingService;
+    private List<Employee> employees;
+    private LocalDateTime from;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = SyntheticCalendars.employees(attendees);
+        meetingService = SyntheticCalendars.meetingService(employees, meetingsPerEmployee, engine);
+        from = SyntheticCalendars.middleDay(meetingsPerEmployee).atStartOfDay();
+    }
+
+    @Benchmark
+    public List<LocalDateTime> findFreeSlots() {
+        return meetingService.findFreeSlots(employees, Duration.ofMinutes(30), Duration.ofMinutes(15), from,
+                from.plusDays(days), LocalTime.of(9, 0), LocalTime.of(17, 0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.dto.AvailabilityHeatmap;
+import com.app.entities.Employee;
+import com.app.service.MeetingService;
+
+// Department-wide availability heatmap over a month in 15-minute buckets against a fully loaded
+// index, on heatmap pools of 1 to 8 threads; near-linear scaling shows as time falling with threads
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class HeatmapBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "500" })
+    public int employees;
+
+    @Param({ "1000" })
+    public int meetingsPerEmployee;
+
+    private ForkJoinPool pool;
+    private MeetingService meetingService;
+    private List<Employee> department;
+    private LocalDateTime from;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        department = SyntheticCalendars.employees(employees);
+        meetingService = SyntheticCalendars.meetingService(department, meetingsPerEmployee);
+        pool = new ForkJoinPool(threads);
+        ReflectionTestUtils.setField(meetingService, "heatmapPool", pool);
+        from = SyntheticCalendars.middleDay(meetingsPerEmployee).atStartOfDay();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public AvailabilityHeatmap heatmap() {
+        return meetingService.availabilityHeatmap(department, from, from.plusDays(30), Duration.ofMinutes(15));
+    }
+}
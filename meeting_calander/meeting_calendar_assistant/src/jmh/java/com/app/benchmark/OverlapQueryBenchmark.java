@@ -0,0 +1,256 @@
+package com.app.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.Query;
+
+import com.app.repository.MeetingRepository;
+
+// One-day overlap lookups for one employee against an embedded H2 database migrated with the
+// application's Flyway scripts and filled with over a million meetings. Runs the SQL the conflict
+// check issues (MeetingRepository.findOverlappingRowsByEmployeeIds, read from its @Query: owned
+// and participated halves with the longest span in a derived table), and for comparison its owner
+// half alone with and without the day bound, and a full table scan with indexes disabled. The
+// query plans are printed once during setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class OverlapQueryBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:overlap_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    // The repository's native SQL, named parameters turned into JDBC ones in order of appearance
+    private static final List<String> REPOSITORY_PARAMETERS = new ArrayList<>();
+    private static final String REPOSITORY = repositorySql();
+
+    private static final String BUCKETED = "select id, start_time, end_time from meeting "
+            + "where owner_id = ? and start_day between ? and ? and start_time < ? and end_time > ? "
+            + "order by start_time";
+    private static final String UNBOUNDED = "select id, start_time, end_time from meeting "
+            + "where owner_id = ? and start_time < ? and end_time > ? order by start_time";
+    private static final String TABLE_SCAN = "select id, start_time, end_time from meeting use index () "
+            + "where owner_id = ? and start_time < ? and end_time > ? order by start_time";
+
+    @Param({ "1000" })
+    public int employees;
+
+    @Param({ "1100" })
+    public int meetingsPerEmployee;
+
+    private Connection connection;
+    private int days;
+    private int maxSpanDays;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+        // Four meetings a day on average, so the calendars span this many days
+        days = meetingsPerEmployee / 4;
+        load();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("select coalesce(max(span_days), 0) from meeting")) {
+            result.next();
+            maxSpanDays = result.getInt(1);
+        }
+        explain("repository", REPOSITORY);
+        explain("bucketed", BUCKETED, true);
+        explain("unbounded", UNBOUNDED, false);
+        explain("table scan", TABLE_SCAN, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int repositoryOverlap() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement statement = connection.prepareStatement(REPOSITORY)) {
+            bindRepository(statement, 1 + random.nextInt(employees), FIRST_DAY.plusDays(random.nextInt(days)));
+            return count(statement);
+        }
+    }
+
+    @Benchmark
+    public int bucketedOverlap() throws SQLException {
+        return query(BUCKETED, true);
+    }
+
+    @Benchmark
+    public int unboundedOverlap() throws SQLException {
+        return query(UNBOUNDED, false);
+    }
+
+    @Benchmark
+    public int tableScanOverlap() throws SQLException {
+        return query(TABLE_SCAN, false);
+    }
+
+    private int query(String sql, boolean bucketed) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, 1 + random.nextInt(employees), FIRST_DAY.plusDays(random.nextInt(days)), bucketed);
+            return count(statement);
+        }
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // Parameters in repository order: employeeIds, firstDay, lastDay, end, start, repeated per half
+    private void bindRepository(PreparedStatement statement, long employeeId, LocalDate day) throws SQLException {
+        Map<String, Object> values = Map.of("employeeIds", employeeId, "firstDay", (int) day.toEpochDay(),
+                "lastDay", (int) day.plusDays(1).toEpochDay(), "start", Timestamp.valueOf(day.atStartOfDay()),
+                "end", Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        for (int i = 0; i < REPOSITORY_PARAMETERS.size(); i++) {
+            statement.setObject(i + 1, values.get(REPOSITORY_PARAMETERS.get(i)));
+        }
+    }
+
+    private static String repositorySql() {
+        try {
+            String sql = MeetingRepository.class.getMethod("findOverlappingRowsByEmployeeIds", Collection.class,
+                    LocalDateTime.class, LocalDateTime.class, int.class, int.class).getAnnotation(Query.class).value();
+            Matcher parameters = Pattern.compile("\\(:(\\w+)\\)|:(\\w+)").matcher(sql);
+            StringBuilder jdbc = new StringBuilder();
+            while (parameters.find()) {
+                String name = parameters.group(1) != null ? parameters.group(1) : parameters.group(2);
+                REPOSITORY_PARAMETERS.add(name);
+                parameters.appendReplacement(jdbc, parameters.group(1) != null ? "(?)" : "?");
+            }
+            parameters.appendTail(jdbc);
+            return jdbc.toString();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void bind(PreparedStatement statement, long ownerId, LocalDate day, boolean bucketed)
+            throws SQLException {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        int i = 1;
+        statement.setLong(i++, ownerId);
+        if (bucketed) {
+            statement.setInt(i++, (int) day.toEpochDay() - maxSpanDays);
+            statement.setInt(i++, (int) end.toLocalDate().toEpochDay());
+        }
+        statement.setTimestamp(i++, Timestamp.valueOf(end));
+        statement.setTimestamp(i, Timestamp.valueOf(start));
+    }
+
+    private void explain(String name, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("explain analyze " + sql)) {
+            bindRepository(statement, 1, FIRST_DAY.plusDays(days / 2));
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                System.out.println("Plan (" + name + "):\n" + result.getString(1));
+            }
+        }
+    }
+
+    private void explain(String name, String sql, boolean bucketed) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("explain analyze " + sql)) {
+            bind(statement, 1, FIRST_DAY.plusDays(days / 2), bucketed);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                System.out.println("Plan (" + name + "):\n" + result.getString(1));
+            }
+        }
+    }
+
+    // Deterministic calendars: meetings of 30 to 120 minutes in working hours, every tenth one an
+    // overnight session, each with one participant
+    private void load() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement employee = connection.prepareStatement("insert into employee (id, name) values (?, ?)");
+                PreparedStatement meeting = connection.prepareStatement("insert into meeting "
+                        + "(id, start_time, end_time, owner_id, start_day, span_days) values (?, ?, ?, ?, ?, ?)");
+                PreparedStatement participant = connection.prepareStatement(
+                        "insert into meeting_participants (meeting_id, participant_id) values (?, ?)")) {
+            for (int e = 1; e <= employees; e++) {
+                employee.setLong(1, e);
+                employee.setString(2, "Employee " + e);
+                employee.addBatch();
+            }
+            employee.executeBatch();
+
+            Random random = new Random(42);
+            long id = 0;
+            for (int e = 1; e <= employees; e++) {
+                for (int m = 0; m < meetingsPerEmployee; m++) {
+                    LocalDateTime start = FIRST_DAY.plusDays(random.nextInt(days)).atTime(8 + random.nextInt(10),
+                            15 * random.nextInt(4));
+                    LocalDateTime end = m % 10 == 0 ? start.plusHours(16)
+                            : start.plusMinutes(30 + 15 * random.nextInt(7));
+                    int startDay = (int) start.toLocalDate().toEpochDay();
+                    meeting.setLong(1, ++id);
+                    meeting.setTimestamp(2, Timestamp.valueOf(start));
+                    meeting.setTimestamp(3, Timestamp.valueOf(end));
+                    meeting.setLong(4, e);
+                    meeting.setInt(5, startDay);
+                    meeting.setInt(6, (int) end.toLocalDate().toEpochDay() - startDay);
+                    meeting.addBatch();
+                    participant.setLong(1, id);
+                    participant.setLong(2, 1 + random.nextInt(employees));
+                    participant.addBatch();
+                }
+                meeting.executeBatch();
+                participant.executeBatch();
+                connection.commit();
+            }
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+    }
+}
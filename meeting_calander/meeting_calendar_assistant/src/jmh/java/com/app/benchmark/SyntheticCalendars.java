@@ -0,0 +1,178 @@
+package com.app.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.app.datasource.ReadYourWrites;
+import com.app.dto.AttendeeBusyInterval;
+import com.app.entities.Employee;
+import com.app.metrics.MeetingMetrics;
+import com.app.repository.EmployeeRepository;
+import com.app.repository.MeetingRepository;
+import com.app.repository.MeetingSeriesRepository;
+import com.app.service.EmployeeLocks;
+import com.app.service.EpochMinutes;
+import com.app.service.FreeSlotCache;
+import com.app.service.MeetingCalendarIndex;
+import com.app.service.MeetingService;
+
+// Deterministic synthetic calendars and a MeetingService wired to in-memory stub repositories,
+// so benchmarks exercise the scheduling code without a database.
+public final class SyntheticCalendars {
+
+    public static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    // Up to eight 30-minute meetings per working day, starting on 15-minute boundaries
+    public static final int MEETINGS_PER_DAY = 8;
+
+    private SyntheticCalendars() {
+    }
+
+    public static int horizonDays(int meetingsPerEmployee) {
+        return (meetingsPerEmployee + MEETINGS_PER_DAY - 1) / MEETINGS_PER_DAY;
+    }
+
+    public static LocalDate middleDay(int meetingsPerEmployee) {
+        return FIRST_DAY.plusDays(horizonDays(meetingsPerEmployee) / 2);
+    }
+
+    public static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Employee employee = new Employee("Employee " + id);
+            employee.setId(id);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    // One employee's calendar, sorted by start
+    public static List<AttendeeBusyInterval> calendar(long employeeId, int meetings) {
+        Random random = new Random(employeeId);
+        List<AttendeeBusyInterval> calendar = new ArrayList<>(meetings);
+        long meetingId = employeeId * 1_000_000L;
+        for (int day = 0; calendar.size() < meetings; day++) {
+            // 40 quarter-hour starts between 08:00 and 18:00; 30-minute meetings use two of them
+            boolean[] taken = new boolean[41];
+            for (int i = 0; i < MEETINGS_PER_DAY && calendar.size() < meetings; i++) {
+                int quarter = random.nextInt(39);
+                if (taken[quarter] || taken[quarter + 1]) {
+                    continue;
+                }
+                taken[quarter] = true;
+                taken[quarter + 1] = true;
+                LocalDateTime start = FIRST_DAY.plusDays(day).atTime(8, 0).plusMinutes(15L * quarter);
+                calendar.add(new AttendeeBusyInterval(employeeId, meetingId++, start, start.plusMinutes(30)));
+            }
+        }
+        calendar.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return calendar;
+    }
+
+    // The same calendar as flat epoch-minute pairs
+    public static long[] calendarMinutes(long employeeId, int meetings) {
+        List<AttendeeBusyInterval> calendar = calendar(employeeId, meetings);
+        long[] minutes = new long[calendar.size() * 2];
+        for (int i = 0; i < calendar.size(); i++) {
+            minutes[2 * i] = EpochMinutes.floor(calendar.get(i).getStartTime());
+            minutes[2 * i + 1] = EpochMinutes.ceil(calendar.get(i).getEndTime());
+        }
+        return minutes;
+    }
+
+    // A MeetingService whose index is fully loaded with the synthetic calendars of the employees
+    public static MeetingService meetingService(List<Employee> employees, int meetingsPerEmployee) {
+        return meetingService(employees, meetingsPerEmployee, "intervals");
+    }
+
+    // The same, answering free-slot searches with the given engine ("intervals" or "bitset")
+    public static MeetingService meetingService(List<Employee> employees, int meetingsPerEmployee,
+            String freeSlotEngine) {
+        MeetingRepository meetingRepository = stubMeetingRepository(meetingsPerEmployee);
+        FreeSlotCache freeSlotCache = new FreeSlotCache(Caffeine.newBuilder().build());
+        MeetingCalendarIndex index = new MeetingCalendarIndex(meetingRepository, stubSeriesRepository(),
+                freeSlotCache);
+        for (Employee employee : employees) {
+            index.preload(List.of(employee.getId()));
+        }
+
+        MeetingService service = new MeetingService();
+        ReflectionTestUtils.setField(service, "meetingRepository", meetingRepository);
+        ReflectionTestUtils.setField(service, "employeeRepository", stub(EmployeeRepository.class));
+        ReflectionTestUtils.setField(service, "calendarIndex", index);
+        ReflectionTestUtils.setField(service, "employeeLocks", new EmployeeLocks(1024));
+        ReflectionTestUtils.setField(service, "metrics", new MeetingMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "readYourWrites", new ReadYourWrites(false, 0));
+        ReflectionTestUtils.setField(service, "heatmapPool", ForkJoinPool.commonPool());
+        // Benchmarks measure the computation itself, not repeated cache hits
+        ReflectionTestUtils.setField(service, "freeSlotCache", freeSlotCache);
+        ReflectionTestUtils.setField(service, "freeSlotCacheEnabled", false);
+        ReflectionTestUtils.setField(service, "freeSlotEngine", freeSlotEngine);
+        return service;
+    }
+
+    private static MeetingRepository stubMeetingRepository(int meetingsPerEmployee) {
+        return (MeetingRepository) Proxy.newProxyInstance(MeetingRepository.class.getClassLoader(),
+                new Class<?>[] { MeetingRepository.class }, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method, args);
+                    }
+                    if (method.getName().equals("findBusyIntervalsByEmployeeIds")) {
+                        List<AttendeeBusyInterval> result = new ArrayList<>();
+                        for (Object id : (Collection<?>) args[0]) {
+                            result.addAll(calendar((Long) id, meetingsPerEmployee));
+                        }
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // No recurring series: benchmarks cover plain meetings
+    private static MeetingSeriesRepository stubSeriesRepository() {
+        return (MeetingSeriesRepository) Proxy.newProxyInstance(MeetingSeriesRepository.class.getClassLoader(),
+                new Class<?>[] { MeetingSeriesRepository.class }, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method, args);
+                    }
+                    if (method.getName().equals("findByEmployeeIds")) {
+                        return List.of();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, method, args);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        default:
+            return "stub " + proxy.getClass().getInterfaces()[0].getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.app.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.app.dto.AttendeeBusyInterval;
+import com.app.dto.CalendarPage;
+import com.app.dto.FreeSlots;
+import com.app.dto.MeetingSummary;
+import com.app.entities.Employee;
+import com.app.service.MeetingService;
+import com.app.wire.CompactWire;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+// Serialization time of a fine-grained multi-day free-slot result and a calendar page in the
+// default JSON, slot ranges and CBOR; payload sizes are printed once per trial
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({ "5" })
+    public int days;
+
+    @Param({ "1", "15" })
+    public int stepMinutes;
+
+    @Param({ "200" })
+    public int calendarMeetings;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    private FreeSlots slots;
+    private CalendarPage calendar;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Employee> attendees = SyntheticCalendars.employees(2);
+        MeetingService meetingService = SyntheticCalendars.meetingService(attendees, 1000);
+        LocalDateTime from = SyntheticCalendars.middleDay(1000).atStartOfDay();
+        slots = (FreeSlots) meetingService.findFreeSlots(attendees, Duration.ofMinutes(30),
+                Duration.ofMinutes(stepMinutes), from, from.plusDays(days), LocalTime.of(8, 0), LocalTime.of(18, 0));
+
+        List<MeetingSummary> meetings = new ArrayList<>(calendarMeetings);
+        for (AttendeeBusyInterval busy : SyntheticCalendars.calendar(1, calendarMeetings)) {
+            meetings.add(new MeetingSummary(busy.getMeetingId(), busy.getStartTime(), busy.getEndTime(), 1L,
+                    "Employee 1"));
+        }
+        calendar = new CalendarPage(meetings, null);
+
+        System.out.printf("%n%d slots: json %d B, slot ranges %d B, cbor %d B; %d meetings: json %d B, cbor %d B%n",
+                slots.size(), slotsJson().length, slotRangesJson().length, slotRangesCbor().length,
+                meetings.size(), calendarJson().length, calendarCbor().length);
+    }
+
+    @Benchmark
+    public byte[] slotsJson() throws IOException {
+        return json.writeValueAsBytes(slots);
+    }
+
+    @Benchmark
+    public byte[] slotRangesJson() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(bytes)) {
+            CompactWire.writeSlotRangesJson(generator, slots.minutes());
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] slotRangesCbor() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = cborFactory.createGenerator(bytes)) {
+            CompactWire.writeSlotRangesCbor(generator, slots.minutes());
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] calendarJson() throws IOException {
+        return json.writeValueAsBytes(calendar);
+    }
+
+    @Benchmark
+    public byte[] calendarCbor() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = cborFactory.createGenerator(bytes)) {
+            CompactWire.writeCalendarCbor(generator, calendar);
+        }
+        return bytes.toByteArray();
+    }
+}
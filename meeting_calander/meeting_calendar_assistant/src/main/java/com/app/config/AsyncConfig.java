@@ -0,0 +1,79 @@
+package com.app.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.app.metrics.QueryCounter;
+
+// Executor the meeting endpoints run on. Controllers return CompletableFuture, so with async
+// execution enabled the Tomcat thread is handed back while JPA calls block a worker from this
+// bounded pool instead, and independent lookups of one request run side by side. When disabled,
+// tasks run on the calling request thread, which is the plain blocking model.
+@Configuration
+public class AsyncConfig {
+
+	public static final String MEETING_EXECUTOR = "meetingExecutor";
+
+	public static final String HEATMAP_POOL = "heatmapPool";
+
+	public static final String FEED_EXECUTOR = "feedExecutor";
+
+	@Bean(name = MEETING_EXECUTOR)
+	public Executor meetingExecutor(@Value("${meeting.async.enabled:true}") boolean enabled,
+			@Value("${meeting.async.core-pool-size:16}") int corePoolSize,
+			@Value("${meeting.async.max-pool-size:64}") int maxPoolSize,
+			@Value("${meeting.async.queue-capacity:1000}") int queueCapacity) {
+		if (!enabled) {
+			return Runnable::run;
+		}
+		// A full queue rejects new work, answered with 503 instead of piling up latency
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(corePoolSize);
+		executor.setMaxPoolSize(maxPoolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("meeting-");
+		executor.setTaskDecorator(QueryCounter.propagating());
+		executor.initialize();
+		return executor;
+	}
+
+	// Streaming response bodies are written from the same bounded pool
+	@Bean
+	public WebMvcConfigurer meetingAsyncSupport(@Qualifier(MEETING_EXECUTOR) Executor executor) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+				configurer.setTaskExecutor(new ConcurrentTaskExecutor(executor));
+			}
+		};
+	}
+
+	// Small pool the change feed writes to its clients from, whether or not the endpoints run async,
+	// so a slow client never holds a request worker or the committing thread. Each subscriber has
+	// at most one drain queued, so the queue is bounded by the subscriber count.
+	@Bean(name = FEED_EXECUTOR)
+	public Executor feedExecutor(@Value("${meeting.feed.threads:2}") int threads) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setThreadNamePrefix("calendar-feed-");
+		executor.initialize();
+		return executor;
+	}
+
+	// Work-stealing pool the availability heatmap splits its per-employee work across; kept apart
+	// from the common pool so heatmaps neither starve nor are starved by other parallel streams
+	@Bean(name = HEATMAP_POOL, destroyMethod = "shutdown")
+	public ForkJoinPool heatmapPool(@Value("${meeting.heatmap.parallelism:0}") int parallelism) {
+		return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+}
@@ -0,0 +1,58 @@
+package com.app.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.app.datasource.ReplicaRoutingDataSource;
+import com.app.datasource.ReplicaRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Read/write split: spring.datasource.* is the primary, meeting.datasource.replica.* a read
+// replica. Read-only transactions use the replica unless ReadYourWrites pins them to the primary;
+// Flyway migrates the primary only.
+@Configuration
+@ConditionalOnProperty(name = "meeting.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+	@Bean
+	@FlywayDataSource
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	public HikariDataSource replicaDataSource(@Value("${meeting.datasource.replica.url}") String url,
+			@Value("${meeting.datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${meeting.datasource.replica.password:${spring.datasource.password:}}") String password) {
+		HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(url)
+				.username(username).password(password).build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+		routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+}
@@ -0,0 +1,19 @@
+package com.app.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.app.metrics.QueryCounter;
+
+// Statement counting for the per-request query metric; the counter itself is bound by
+// QueryCountFilter and carried to the meeting executor by AsyncConfig
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer queryCountingInspector() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+	}
+}
@@ -0,0 +1,21 @@
+package com.app.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.app.wire.CompactWireHttpMessageConverter;
+
+// Compact wire formats for free slots and calendar pages. The converter goes first so that it,
+// and not the JSON converter's application/*+json or the generic Jackson CBOR converter, writes
+// the media types it names; it never offers itself for */*, so JSON stays the default.
+@Configuration
+public class WireConfig implements WebMvcConfigurer {
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(0, new CompactWireHttpMessageConverter());
+	}
+}
@@ -0,0 +1,40 @@
+package com.app.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.dto.CacheStats;
+
+@RestController
+@RequestMapping("/api/caches")
+public class CacheController {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Hit/miss statistics of every Caffeine cache
+	@GetMapping("/stats")
+	public ResponseEntity<List<CacheStats>> getStats() {
+		List<CacheStats> stats = new ArrayList<>();
+		for (String name : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(name);
+			if (cache instanceof CaffeineCache) {
+				com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache)
+						.getNativeCache();
+				com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats = nativeCache.stats();
+				stats.add(new CacheStats(name, nativeCache.estimatedSize(), caffeineStats.hitCount(),
+						caffeineStats.missCount(), caffeineStats.hitRate(), caffeineStats.evictionCount()));
+			}
+		}
+		return ResponseEntity.ok(stats);
+	}
+}
@@ -0,0 +1,46 @@
+package com.app.controller;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.custom_exceptions.NotFoundException;
+import com.app.service.MeetingService;
+
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeController {
+
+	@Autowired
+	private MeetingService meetingService;
+
+	// Reading one employee's calendar in [from, to), a page at a time
+	@GetMapping("/{id}/meetings")
+	public ResponseEntity<?> getCalendar(@PathVariable Long id, @RequestParam String from, @RequestParam String to,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limit) {
+		LocalDateTime parsedFrom;
+		LocalDateTime parsedTo;
+		try {
+			parsedFrom = LocalDateTime.parse(from);
+			parsedTo = LocalDateTime.parse(to);
+		} catch (DateTimeParseException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+
+		try {
+			return ResponseEntity.ok(meetingService.getCalendar(id, parsedFrom, parsedTo, cursor, limit));
+		} catch (NotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
@@ -1,36 +1,70 @@
 package com.app.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.config.AsyncConfig;
 import com.app.custom_exceptions.ConflictException;
 import com.app.custom_exceptions.NotFoundException;
+import com.app.dto.AvailabilityHeatmapRequest;
+import com.app.dto.EmployeeSummary;
 import com.app.dto.MeetingRequest;
+import com.app.dto.MeetingResponse;
+import com.app.dto.MeetingSeriesRequest;
+import com.app.dto.MeetingSeriesResponse;
+import com.app.dto.MeetingSuggestionRequest;
+import com.app.dto.ParticipantChangeRequest;
+import com.app.dto.RescheduleRequest;
 import com.app.entities.Employee;
 import com.app.entities.Meeting;
-import com.app.repository.EmployeeRepository;
+import com.app.entities.MeetingSeries;
+import com.app.feed.CalendarFeed;
 import com.app.service.EmployeeService;
 import com.app.service.MeetingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 @RestController
 @RequestMapping("/api/meetings")
 public class MeetingController {
 
+	private static final String NDJSON = "application/x-ndjson";
+
 	@Autowired
 	private MeetingService meetingService;
 
@@ -38,27 +72,155 @@ public class MeetingController {
 	private EmployeeService employeeService;
 	
 	@Autowired
-    private EmployeeRepository employeeRepository;
+	private CalendarFeed calendarFeed;
 
-	// Booking a new meeting
-	@PostMapping("/book")
-	public ResponseEntity<?> bookMeeting(@RequestBody MeetingRequest request) {
+	@Autowired
+	private ModelMapper mapper;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	@Qualifier(AsyncConfig.MEETING_EXECUTOR)
+	private Executor executor;
+
+	// Reading one meeting with its attendees
+	@GetMapping("/{id:\\d+}")
+	public ResponseEntity<?> getMeeting(@PathVariable Long id) {
 		try {
-			Employee owner = employeeService.findByName(request.getOwnerName());
-			List<Employee> participants = employeeService.findByNames(request.getParticipants());
-			Meeting meeting = meetingService.bookMeeting(owner, request.getStartTime(), request.getEndTime(),
-					participants);
-			return ResponseEntity.ok(meeting);
-		} catch (ConflictException e) {
-			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
-		} catch (Exception e) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+			return ResponseEntity.ok(mapper.map(meetingService.findMeeting(id), MeetingResponse.class));
+		} catch (NotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
 		}
 	}
 
-	// Finding free slots between two employees
+	// Booking a new meeting; the owner and participants are resolved concurrently. With
+	// durable=true the response waits until the meeting's row is in the database, which in journal
+	// mode is the sink's next group commit; still queued after the sink's await timeout, the
+	// booking stands and is answered with 202 Accepted.
+	@PostMapping("/book")
+	public CompletableFuture<ResponseEntity<?>> bookMeeting(@RequestBody MeetingRequest request,
+			@RequestParam(defaultValue = "false") boolean durable) {
+		CompletableFuture<Employee> owner = supplyAsync(() -> employeeService.findByName(request.getOwnerName()));
+		CompletableFuture<List<Employee>> participants = supplyAsync(
+				() -> employeeService.findByNames(request.getParticipants()));
+		return owner.thenCombine(participants, (booker, attendees) -> meetingService.bookMeeting(booker,
+				request.getStartTime(), request.getEndTime(), attendees)).<ResponseEntity<?>>thenCompose(meeting -> {
+			MeetingResponse response = mapper.map(meeting, MeetingResponse.class);
+			if (!durable) {
+				return CompletableFuture.completedFuture(ResponseEntity.ok(response));
+			}
+			return meetingService.whenPersisted(meeting).thenApply(persisted -> persisted
+					? ResponseEntity.ok(response)
+					: ResponseEntity.status(HttpStatus.ACCEPTED).body(response));
+		}).exceptionally(e -> {
+			Throwable cause = unwrap(e);
+			if (cause instanceof ConflictException) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(cause.getMessage());
+			}
+			if (cause instanceof RejectedExecutionException) {
+				return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is busy, retry later");
+			}
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(cause.getMessage());
+		});
+	}
+
+	// Cancelling a meeting
+	@DeleteMapping("/{id:\\d+}")
+	public CompletableFuture<ResponseEntity<?>> cancelMeeting(@PathVariable Long id) {
+		return supplyAsync(() -> {
+			try {
+				meetingService.cancelMeeting(id);
+				return ResponseEntity.noContent().build();
+			} catch (NotFoundException e) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+			} catch (ConflictException e) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+			}
+		});
+	}
+
+	// Moving a meeting; attendees are re-checked only over time the meeting did not hold before
+	@PutMapping("/{id:\\d+}/time")
+	public CompletableFuture<ResponseEntity<?>> rescheduleMeeting(@PathVariable Long id,
+			@RequestBody RescheduleRequest request) {
+		return supplyAsync(() -> {
+			try {
+				Meeting meeting = meetingService.rescheduleMeeting(id, request.getStartTime(), request.getEndTime());
+				return ResponseEntity.ok(mapper.map(meeting, MeetingResponse.class));
+			} catch (NotFoundException e) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+			} catch (ConflictException e) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+
+	// Adding and removing participants by name; only the added ones are checked for conflicts
+	@PatchMapping("/{id:\\d+}/participants")
+	public CompletableFuture<ResponseEntity<?>> changeParticipants(@PathVariable Long id,
+			@RequestBody ParticipantChangeRequest request) {
+		return supplyAsync(() -> {
+			List<String> addNames = request.getAdd() == null ? List.of() : request.getAdd();
+			List<Employee> added = employeeService.findByNames(addNames);
+			if (added.size() < new HashSet<>(addNames).size()) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("One or more employees not found");
+			}
+			// Unknown names cannot be participants, so there is nothing to remove for them
+			List<Employee> removed = employeeService.findByNames(
+					request.getRemove() == null ? List.of() : request.getRemove());
+			try {
+				Meeting meeting = meetingService.changeParticipants(id, added, removed);
+				return ResponseEntity.ok(mapper.map(meeting, MeetingResponse.class));
+			} catch (NotFoundException e) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+			} catch (ConflictException e) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+			}
+		});
+	}
+
+	// Booking a recurring series; stored once and expanded per query window
+	@PostMapping("/series")
+	public CompletableFuture<ResponseEntity<?>> bookSeries(@RequestBody MeetingSeriesRequest request) {
+		return supplyAsync(() -> {
+			try {
+				Employee owner = employeeService.findByName(request.getOwnerName());
+				List<Employee> participants = employeeService.findByNames(
+						request.getParticipants() == null ? List.of() : request.getParticipants());
+				MeetingSeries series = meetingService.bookSeries(owner, request.getStartTime(), request.getEndTime(),
+						participants, request.getFrequency(), request.getInterval(), request.getUntil(),
+						request.getExceptions());
+				return ResponseEntity.ok(mapper.map(series, MeetingSeriesResponse.class));
+			} catch (ConflictException e) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+			} catch (NotFoundException e) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+
+	// Booking many meetings at once; each item is accepted or rejected independently
+	@PostMapping("/book/batch")
+	public CompletableFuture<ResponseEntity<?>> bookMeetings(@RequestBody List<MeetingRequest> requests) {
+		return supplyAsync(() -> {
+			try {
+				return ResponseEntity.ok(meetingService.bookMeetings(requests));
+			} catch (RejectedExecutionException e) {
+				return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is busy, retry later");
+			} catch (Exception e) {
+				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+			}
+		});
+	}
+
+	// Finding free slots between two employees; both names are resolved concurrently
 	@GetMapping("/free-slots")
-	public ResponseEntity<List<LocalDateTime>> findFreeSlotsForDate(@RequestParam String emp1,
+	public CompletableFuture<ResponseEntity<List<LocalDateTime>>> findFreeSlotsForDate(@RequestParam String emp1,
 			@RequestParam String emp2, @RequestParam long durationMinutes, @RequestParam String date) {
 
 		// Parse the 'date' string into LocalDate
@@ -66,38 +228,195 @@ public class MeetingController {
 		try {
 			parsedDate = LocalDate.parse(date); // Expecting the date in "yyyy-MM-dd" format
 		} catch (DateTimeParseException e) {
-			return ResponseEntity.badRequest().body(null); // Return bad request if the input is not parsable
+			// Return bad request if the input is not parsable
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(null));
 		}
 
 		// Define the start and end of the day based on the provided date
 		LocalDateTime startOfDay = parsedDate.atStartOfDay(); // 00:00 of that day
 		LocalDateTime endOfDay = parsedDate.atTime(LocalTime.MAX); // 23:59 of that day
 
-		Employee employee1 = employeeService.findByName(emp1);
-		Employee employee2 = employeeService.findByName(emp2);
+		CompletableFuture<Employee> employee1 = supplyAsync(() -> employeeService.findByName(emp1));
+		CompletableFuture<Employee> employee2 = supplyAsync(() -> employeeService.findByName(emp2));
 		Duration duration = Duration.ofMinutes(durationMinutes);
 
-		List<LocalDateTime> freeSlots = meetingService.findFreeSlots(employee1, employee2, duration, startOfDay,
-				endOfDay);
-		return ResponseEntity.ok(freeSlots);
+		return employee1.thenCombine(employee2, (first, second) -> ResponseEntity
+				.ok(meetingService.findFreeSlots(first, second, duration, startOfDay, endOfDay)));
+	}
+
+	// Finding free slots common to any number of employees
+	@GetMapping("/free-slots/common")
+	public CompletableFuture<ResponseEntity<?>> findCommonFreeSlotsForDate(@RequestParam List<String> employees,
+			@RequestParam long durationMinutes, @RequestParam String date,
+			@RequestParam(required = false) Long stepMinutes, @RequestParam(required = false) String workStart,
+			@RequestParam(required = false) String workEnd) {
+		LocalDate parsedDate;
+		LocalTime parsedWorkStart;
+		LocalTime parsedWorkEnd;
+		try {
+			parsedDate = LocalDate.parse(date);
+			parsedWorkStart = workStart == null ? null : LocalTime.parse(workStart);
+			parsedWorkEnd = workEnd == null ? null : LocalTime.parse(workEnd);
+		} catch (DateTimeParseException e) {
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+		}
+
+		return supplyAsync(() -> findCommonFreeSlots(employees, durationMinutes, parsedDate, stepMinutes,
+				parsedWorkStart, parsedWorkEnd));
+	}
+
+	private ResponseEntity<?> findCommonFreeSlots(List<String> employees, long durationMinutes, LocalDate parsedDate,
+			Long stepMinutes, LocalTime parsedWorkStart, LocalTime parsedWorkEnd) {
+		List<Employee> attendees = employeeService.findByNames(employees);
+		if (attendees.size() < new HashSet<>(employees).size()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("One or more employees not found");
+		}
+
+		Duration duration = Duration.ofMinutes(durationMinutes);
+		Duration step = stepMinutes == null ? duration : Duration.ofMinutes(stepMinutes);
+		try {
+			return ResponseEntity.ok(meetingService.findFreeSlots(attendees, duration, step, parsedDate.atStartOfDay(),
+					parsedDate.plusDays(1).atStartOfDay(), parsedWorkStart, parsedWorkEnd));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	// Streaming free slots common to any number of employees over a long range as NDJSON, one
+	// date-time per line; with a limit, slot generation stops as soon as enough were written
+	@GetMapping(value = "/free-slots/range", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> streamFreeSlots(@RequestParam List<String> employees, @RequestParam long durationMinutes,
+			@RequestParam String from, @RequestParam String to, @RequestParam(required = false) Long stepMinutes,
+			@RequestParam(required = false) String workStart, @RequestParam(required = false) String workEnd,
+			@RequestParam(required = false) Long limit) {
+		LocalDateTime parsedFrom;
+		LocalDateTime parsedTo;
+		LocalTime parsedWorkStart;
+		LocalTime parsedWorkEnd;
+		try {
+			parsedFrom = parseDateOrDateTime(from);
+			parsedTo = parseDateOrDateTime(to);
+			parsedWorkStart = workStart == null ? null : LocalTime.parse(workStart);
+			parsedWorkEnd = workEnd == null ? null : LocalTime.parse(workEnd);
+		} catch (DateTimeParseException e) {
+			return plainText(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+		if (limit != null && limit <= 0) {
+			return plainText(HttpStatus.BAD_REQUEST, "Limit must be positive");
+		}
+
+		List<Employee> attendees = employeeService.findByNames(employees);
+		if (attendees.size() < new HashSet<>(employees).size()) {
+			return plainText(HttpStatus.NOT_FOUND, "One or more employees not found");
+		}
+
+		Duration duration = Duration.ofMinutes(durationMinutes);
+		Duration step = stepMinutes == null ? duration : Duration.ofMinutes(stepMinutes);
+		Stream<LocalDateTime> slots;
+		try {
+			slots = meetingService.streamFreeSlots(attendees, duration, step, parsedFrom, parsedTo, parsedWorkStart,
+					parsedWorkEnd);
+		} catch (IllegalArgumentException e) {
+			return plainText(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+		Stream<LocalDateTime> limited = limit == null ? slots : slots.limit(limit);
+
+		StreamingResponseBody body = out -> {
+			ObjectWriter writer = objectMapper.writerFor(LocalDateTime.class);
+			Iterator<LocalDateTime> iterator = limited.iterator();
+			while (iterator.hasNext()) {
+				out.write(writer.writeValueAsBytes(iterator.next()));
+				out.write('\n');
+			}
+			out.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+	}
+
+	// Helper method for error answers of the streaming endpoint, whose body type is fixed
+	private static ResponseEntity<StreamingResponseBody> plainText(HttpStatus status, String message) {
+		return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN)
+				.body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	// Helper method to accept either a date (its start) or a date-time
+	private static LocalDateTime parseDateOrDateTime(String value) {
+		return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+	}
+
+	// Server-Sent Events with every change to the given employees' calendars, instead of polling
+	// free slots or calendars; a RESYNC event means changes were dropped and calendars must be re-read
+	@GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribeToChanges(@RequestParam List<Long> employeeIds,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		return calendarFeed.subscribe(employeeIds, lastEventId);
+	}
+
+	// Ranked meeting times for required and optional attendees, best first
+	@PostMapping("/suggestions")
+	public CompletableFuture<ResponseEntity<?>> suggestMeetingTimes(@RequestBody MeetingSuggestionRequest request) {
+		return supplyAsync(() -> suggest(request));
+	}
+
+	private ResponseEntity<?> suggest(MeetingSuggestionRequest request) {
+		if (request.getRequiredAttendees() == null || request.getFrom() == null || request.getTo() == null) {
+			return ResponseEntity.badRequest().body("requiredAttendees, from and to are required");
+		}
+		List<String> optionalNames = request.getOptionalAttendees() == null ? List.of()
+				: request.getOptionalAttendees();
+		List<Employee> required = employeeService.findByNames(request.getRequiredAttendees());
+		List<Employee> optional = employeeService.findByNames(optionalNames);
+		if (required.size() < new HashSet<>(request.getRequiredAttendees()).size()
+				|| optional.size() < new HashSet<>(optionalNames).size()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("One or more employees not found");
+		}
+
+		Duration duration = Duration.ofMinutes(request.getDurationMinutes());
+		Duration step = request.getStepMinutes() == null ? Duration.ofMinutes(15)
+				: Duration.ofMinutes(request.getStepMinutes());
+		try {
+			return ResponseEntity.ok(meetingService.suggestMeetingTimes(required, optional, duration, step,
+					request.getFrom(), request.getTo(), request.getPreferredStart(), request.getPreferredEnd(),
+					request.getLimit()));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	// Free attendees per time bucket across a whole team or department
+	@PostMapping("/availability-heatmap")
+	public CompletableFuture<ResponseEntity<?>> availabilityHeatmap(@RequestBody AvailabilityHeatmapRequest request) {
+		return supplyAsync(() -> heatmap(request));
+	}
+
+	private ResponseEntity<?> heatmap(AvailabilityHeatmapRequest request) {
+		if (request.getEmployees() == null || request.getFrom() == null || request.getTo() == null) {
+			return ResponseEntity.badRequest().body("employees, from and to are required");
+		}
+		List<Employee> employees = employeeService.findByNames(request.getEmployees());
+		if (employees.size() < new HashSet<>(request.getEmployees()).size()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("One or more employees not found");
+		}
+		try {
+			return ResponseEntity.ok(meetingService.availabilityHeatmap(employees, request.getFrom(), request.getTo(),
+					Duration.ofMinutes(request.getBucketMinutes())));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
 	@PostMapping("/check-conflicts")
-    public ResponseEntity<?> checkMeetingConflicts(@RequestBody MeetingRequest request) {
+    public CompletableFuture<ResponseEntity<?>> checkMeetingConflicts(@RequestBody MeetingRequest request) {
+        return supplyAsync(() -> checkConflicts(request));
+    }
+
+    private ResponseEntity<?> checkConflicts(MeetingRequest request) {
         try {
             // Fetch the owner based on the provided name
-            Employee owner = employeeRepository.findByName(request.getOwnerName())
-                .orElseThrow();
-
-            // Fetch participants based on the provided names
-            List<Employee> participants = new ArrayList<>();
-            for (String participantName : request.getParticipants()) {
-                Employee participant = employeeRepository.findByName(participantName)
-                    .orElse(null); // Can be null if not found
-                if (participant != null) {
-                    participants.add(participant);
-                }
-            }
+            Employee owner = employeeService.findByName(request.getOwnerName());
+
+            // Fetch participants based on the provided names; unknown names are skipped
+            List<Employee> participants = employeeService.findByNames(request.getParticipants());
 
             // Create a new Meeting object
             Meeting newMeeting = new Meeting(request.getStartTime(), request.getEndTime(), owner, participants);
@@ -107,7 +426,11 @@ public class MeetingController {
             if (conflictingParticipants.isEmpty()) {
                 return ResponseEntity.ok("No conflicts found.");
             } else {
-                return ResponseEntity.ok(conflictingParticipants);
+                List<EmployeeSummary> conflicts = new ArrayList<>();
+                for (Employee participant : conflictingParticipants) {
+                    conflicts.add(mapper.map(participant, EmployeeSummary.class));
+                }
+                return ResponseEntity.ok(conflicts);
             }
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -115,4 +438,19 @@ public class MeetingController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error checking conflicts: " + e.getMessage());
         }
     }
+
+	// Rejected when the bounded executor's queue is full
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> handleRejected(RejectedExecutionException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is busy, retry later");
+	}
+
+	// Helper method to run a blocking call on the meeting executor
+	private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(supplier, executor);
+	}
+
+	private static Throwable unwrap(Throwable e) {
+		return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+	}
 }
@@ -1,7 +1,22 @@
 package com.app.custom_exceptions;
+
+import java.util.Collections;
+import java.util.List;
+
 public class ConflictException extends RuntimeException {
-    
+
+    private final List<String> conflictingAttendees;
+
     public ConflictException(String message) {
+        this(message, Collections.emptyList());
+    }
+
+    public ConflictException(String message, List<String> conflictingAttendees) {
         super(message);
+        this.conflictingAttendees = conflictingAttendees;
+    }
+
+    public List<String> getConflictingAttendees() {
+        return conflictingAttendees;
     }
-}
\ No newline at end of file
+}
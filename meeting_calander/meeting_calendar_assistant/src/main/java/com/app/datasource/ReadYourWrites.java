@@ -0,0 +1,77 @@
+package com.app.datasource;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Read-your-writes guard for replica routing. Employees written in the last max-lag interval
+// (counted from the commit) are read from the primary, so a booking is never followed by a
+// read of a replica that has not caught up with it yet. Changes to the employee directory
+// itself send every employee lookup to the primary for the same interval.
+@Component
+public class ReadYourWrites {
+
+    private final boolean enabled;
+    private final long maxLagNanos;
+    // Employee ids written recently; entries expire after the maximum replica lag
+    private final Cache<Long, Boolean> written;
+    private volatile long directoryWrittenAt;
+
+    @Autowired
+    public ReadYourWrites(@Value("${meeting.datasource.replica.enabled:false}") boolean enabled,
+            @Value("${meeting.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        this.enabled = enabled;
+        this.maxLagNanos = Duration.ofMillis(maxLagMillis).toNanos();
+        this.written = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(maxLagMillis)).build();
+        this.directoryWrittenAt = System.nanoTime() - maxLagNanos;
+    }
+
+    // Note writes to the employees' calendars once the surrounding transaction commits
+    public void recordWrite(Collection<Long> employeeIds) {
+        if (enabled) {
+            afterCommit(() -> employeeIds.forEach(id -> written.put(id, Boolean.TRUE)));
+        }
+    }
+
+    // Note a change to the employee directory once the surrounding transaction commits
+    public void recordDirectoryWrite() {
+        if (enabled) {
+            afterCommit(() -> directoryWrittenAt = System.nanoTime());
+        }
+    }
+
+    // Read the employees' calendars from the primary in this transaction if any was written recently
+    public void routeReads(Collection<Long> employeeIds) {
+        if (enabled && employeeIds.stream().anyMatch(id -> written.getIfPresent(id) != null)) {
+            ReplicaRoutingDataSource.pinPrimaryForTransaction();
+        }
+    }
+
+    // Read the employee directory from the primary in this transaction if it changed recently
+    public void routeDirectoryReads() {
+        if (enabled && System.nanoTime() - directoryWrittenAt < maxLagNanos) {
+            ReplicaRoutingDataSource.pinPrimaryForTransaction();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends connections of read-only transactions to the replica and everything else to the primary.
+// The route is decided when a connection is first used, so this must sit behind a
+// LazyConnectionDataSourceProxy: the transaction's read-only flag is only set after it began.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    // Keep the rest of the current read-only transaction on the primary; must run before its
+    // first statement. Outside a transaction reads already go to the primary.
+    public static void pinPrimaryForTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || PINNED.get() != null) {
+            return;
+        }
+        PINNED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PINNED.remove();
+            }
+        });
+    }
+
+    public static Route currentRoute() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED.get() == null
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+
+// A busy interval tagged with the attendee (owner or participant) it belongs to
+public class AttendeeBusyInterval extends BusyInterval {
+    private Long employeeId;
+
+    public AttendeeBusyInterval() {
+    }
+
+    public AttendeeBusyInterval(Long employeeId, Long meetingId, LocalDateTime startTime, LocalDateTime endTime) {
+        super(meetingId, startTime, endTime);
+        this.employeeId = employeeId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    @Override
+    public String toString() {
+        return "AttendeeBusyInterval [employeeId=" + employeeId + ", meetingId=" + getMeetingId() + ", startTime="
+                + getStartTime() + ", endTime=" + getEndTime() + "]";
+    }
+}
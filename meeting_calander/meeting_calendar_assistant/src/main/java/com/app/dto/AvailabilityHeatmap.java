@@ -0,0 +1,54 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+
+// Free attendees per time bucket: free[i] counts the employees with nothing booked in
+// [from + i * bucketMinutes, from + (i + 1) * bucketMinutes); the last bucket ends at the range end
+public class AvailabilityHeatmap {
+    private LocalDateTime from;
+    private long bucketMinutes;
+    private int employees;
+    private int[] free;
+
+    public AvailabilityHeatmap() {
+    }
+
+    public AvailabilityHeatmap(LocalDateTime from, long bucketMinutes, int employees, int[] free) {
+        this.from = from;
+        this.bucketMinutes = bucketMinutes;
+        this.employees = employees;
+        this.free = free;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public long getBucketMinutes() {
+        return bucketMinutes;
+    }
+
+    public void setBucketMinutes(long bucketMinutes) {
+        this.bucketMinutes = bucketMinutes;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public int[] getFree() {
+        return free;
+    }
+
+    public void setFree(int[] free) {
+        this.free = free;
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Employees and range of an availability heatmap, cut into buckets of bucketMinutes
+public class AvailabilityHeatmapRequest {
+    private List<String> employees;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long bucketMinutes = 30;
+
+    public List<String> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<String> employees) {
+        this.employees = employees;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public long getBucketMinutes() {
+        return bucketMinutes;
+    }
+
+    public void setBucketMinutes(long bucketMinutes) {
+        this.bucketMinutes = bucketMinutes;
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.dto;
+
+// Outcome of one item of a batch booking, in request order
+public class BatchBookingResult {
+
+    public enum Status {
+        ACCEPTED, REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private Long meetingId;
+    private String message;
+
+    public BatchBookingResult() {
+    }
+
+    public BatchBookingResult(int index, Status status, Long meetingId, String message) {
+        this.index = index;
+        this.status = status;
+        this.meetingId = meetingId;
+        this.message = message;
+    }
+
+    public static BatchBookingResult rejected(int index, String message) {
+        return new BatchBookingResult(index, Status.REJECTED, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getMeetingId() {
+        return meetingId;
+    }
+
+    public void setMeetingId(Long meetingId) {
+        this.meetingId = meetingId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+
+public class BusyInterval {
+    private Long meetingId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public BusyInterval() {
+    }
+
+    public BusyInterval(Long meetingId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.meetingId = meetingId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getMeetingId() {
+        return meetingId;
+    }
+
+    public void setMeetingId(Long meetingId) {
+        this.meetingId = meetingId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    // Half-open overlap: [start, end) intersects [otherStart, otherEnd)
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return startTime.isBefore(otherEnd) && endTime.isAfter(otherStart);
+    }
+
+    @Override
+    public String toString() {
+        return "BusyInterval [meetingId=" + meetingId + ", startTime=" + startTime + ", endTime=" + endTime + "]";
+    }
+}
@@ -0,0 +1,138 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.entities.MeetingSeries;
+
+// One committed change to the calendars of the listed employees, as pushed by the change feed.
+// BOOKED and UPDATED carry the meeting as it is now (UPDATED also lists the employees who are no
+// longer attending), CANCELLED the meeting as it was. A series change carries the series id and
+// its first occurrence. RESYNC carries nothing: the subscriber missed changes and should re-read
+// the calendars it shows.
+public class CalendarChange {
+
+    public enum Type {
+        BOOKED, UPDATED, CANCELLED, SERIES_BOOKED, RESYNC
+    }
+
+    private Type type;
+    private Long meetingId;
+    private Long seriesId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private List<Long> employeeIds;
+    private List<Long> removedEmployeeIds;
+
+    public CalendarChange() {
+    }
+
+    public CalendarChange(Type type, Long meetingId, Long seriesId, LocalDateTime startTime, LocalDateTime endTime,
+            List<Long> employeeIds) {
+        this.type = type;
+        this.meetingId = meetingId;
+        this.seriesId = seriesId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.employeeIds = employeeIds;
+    }
+
+    public static CalendarChange booked(Meeting meeting) {
+        return new CalendarChange(Type.BOOKED, meeting.getId(), null, meeting.getStartTime(), meeting.getEndTime(),
+                attendeeIds(meeting.getOwner(), meeting.getParticipants()));
+    }
+
+    public static CalendarChange updated(Meeting before, Meeting after) {
+        CalendarChange change = new CalendarChange(Type.UPDATED, after.getId(), null, after.getStartTime(),
+                after.getEndTime(), attendeeIds(after.getOwner(), after.getParticipants()));
+        List<Long> removed = attendeeIds(before.getOwner(), before.getParticipants());
+        removed.removeAll(change.employeeIds);
+        change.removedEmployeeIds = removed;
+        return change;
+    }
+
+    public static CalendarChange cancelled(Meeting meeting) {
+        return new CalendarChange(Type.CANCELLED, meeting.getId(), null, meeting.getStartTime(),
+                meeting.getEndTime(), attendeeIds(meeting.getOwner(), meeting.getParticipants()));
+    }
+
+    public static CalendarChange seriesBooked(MeetingSeries series) {
+        return new CalendarChange(Type.SERIES_BOOKED, null, series.getId(), series.getFirstStart(),
+                series.getFirstStart().plusMinutes(series.getDurationMinutes()),
+                attendeeIds(series.getOwner(), series.getParticipants()));
+    }
+
+    public static CalendarChange resync() {
+        return new CalendarChange(Type.RESYNC, null, null, null, null, List.of());
+    }
+
+    private static List<Long> attendeeIds(Employee owner, List<Employee> participants) {
+        List<Long> ids = new ArrayList<>();
+        ids.add(owner.getId());
+        if (participants != null) {
+            for (Employee participant : participants) {
+                ids.add(participant.getId());
+            }
+        }
+        return ids;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getMeetingId() {
+        return meetingId;
+    }
+
+    public void setMeetingId(Long meetingId) {
+        this.meetingId = meetingId;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public List<Long> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public void setEmployeeIds(List<Long> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    public List<Long> getRemovedEmployeeIds() {
+        return removedEmployeeIds;
+    }
+
+    public void setRemovedEmployeeIds(List<Long> removedEmployeeIds) {
+        this.removedEmployeeIds = removedEmployeeIds;
+    }
+}
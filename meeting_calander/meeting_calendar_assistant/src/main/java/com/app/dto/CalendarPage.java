@@ -0,0 +1,33 @@
+package com.app.dto;
+
+import java.util.List;
+
+// One page of a calendar; nextCursor is null on the last page
+public class CalendarPage {
+    private List<MeetingSummary> meetings;
+    private String nextCursor;
+
+    public CalendarPage() {
+    }
+
+    public CalendarPage(List<MeetingSummary> meetings, String nextCursor) {
+        this.meetings = meetings;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<MeetingSummary> getMeetings() {
+        return meetings;
+    }
+
+    public void setMeetings(List<MeetingSummary> meetings) {
+        this.meetings = meetings;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
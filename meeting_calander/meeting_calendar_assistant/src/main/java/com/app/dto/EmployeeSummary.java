@@ -0,0 +1,36 @@
+package com.app.dto;
+
+// Employee as exposed by the API, without any meeting associations
+public class EmployeeSummary {
+    private Long id;
+    private String name;
+
+    public EmployeeSummary() {
+    }
+
+    public EmployeeSummary(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeSummary [id=" + id + ", name=" + name + "]";
+    }
+}
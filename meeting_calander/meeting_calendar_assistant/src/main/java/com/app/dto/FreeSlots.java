@@ -0,0 +1,32 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import com.app.service.EpochMinutes;
+
+// Free slot starts as a read-only list over their epoch minutes. Plain JSON sees a list of
+// date-times as before; the compact wire formats encode the minutes directly.
+public class FreeSlots extends AbstractList<LocalDateTime> implements RandomAccess {
+    private final long[] minutes;
+
+    public FreeSlots(long[] minutes) {
+        this.minutes = minutes;
+    }
+
+    // Slot starts in epoch minutes, ascending; not copied, so not to be modified
+    public long[] minutes() {
+        return minutes;
+    }
+
+    @Override
+    public LocalDateTime get(int index) {
+        return EpochMinutes.toDateTime(minutes[index]);
+    }
+
+    @Override
+    public int size() {
+        return minutes.length;
+    }
+}
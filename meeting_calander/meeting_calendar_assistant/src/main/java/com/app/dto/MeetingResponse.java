@@ -0,0 +1,54 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Meeting as exposed by the API: attendees are flat summaries, so serialization never walks
+// back into the entity graph
+public class MeetingResponse {
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private EmployeeSummary owner;
+    private List<EmployeeSummary> participants;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public EmployeeSummary getOwner() {
+        return owner;
+    }
+
+    public void setOwner(EmployeeSummary owner) {
+        this.owner = owner;
+    }
+
+    public List<EmployeeSummary> getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(List<EmployeeSummary> participants) {
+        this.participants = participants;
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import com.app.entities.MeetingSeries;
+
+// Recurring meeting to book: the first occurrence plus its repeat rule
+public class MeetingSeriesRequest {
+    private String ownerName;
+    private List<String> participants;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private MeetingSeries.Frequency frequency;
+    private int interval = 1;
+    private LocalDate until;
+    private Set<LocalDate> exceptions;
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public void setOwnerName(String ownerName) {
+        this.ownerName = ownerName;
+    }
+
+    public List<String> getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(List<String> participants) {
+        this.participants = participants;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public MeetingSeries.Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(MeetingSeries.Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    public void setUntil(LocalDate until) {
+        this.until = until;
+    }
+
+    public Set<LocalDate> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(Set<LocalDate> exceptions) {
+        this.exceptions = exceptions;
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import com.app.entities.MeetingSeries;
+
+// Recurring meeting as exposed by the API
+public class MeetingSeriesResponse {
+    private Long id;
+    private LocalDateTime firstStart;
+    private long durationMinutes;
+    private MeetingSeries.Frequency frequency;
+    private int repeatInterval;
+    private LocalDate untilDate;
+    private EmployeeSummary owner;
+    private List<EmployeeSummary> participants;
+    private Set<LocalDate> exceptions;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getFirstStart() {
+        return firstStart;
+    }
+
+    public void setFirstStart(LocalDateTime firstStart) {
+        this.firstStart = firstStart;
+    }
+
+    public long getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(long durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public MeetingSeries.Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(MeetingSeries.Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(int repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    public LocalDate getUntilDate() {
+        return untilDate;
+    }
+
+    public void setUntilDate(LocalDate untilDate) {
+        this.untilDate = untilDate;
+    }
+
+    public EmployeeSummary getOwner() {
+        return owner;
+    }
+
+    public void setOwner(EmployeeSummary owner) {
+        this.owner = owner;
+    }
+
+    public List<EmployeeSummary> getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(List<EmployeeSummary> participants) {
+        this.participants = participants;
+    }
+
+    public Set<LocalDate> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(Set<LocalDate> exceptions) {
+        this.exceptions = exceptions;
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One ranked meeting time: every required attendee is free, the optional ones are split by
+// whether they are free too. Scores run from 0 to 1, higher is better.
+public class MeetingSuggestion {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private double score;
+    private List<String> availableOptional;
+    private List<String> unavailableOptional;
+
+    public MeetingSuggestion() {
+    }
+
+    public MeetingSuggestion(LocalDateTime startTime, LocalDateTime endTime, double score,
+            List<String> availableOptional, List<String> unavailableOptional) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.score = score;
+        this.availableOptional = availableOptional;
+        this.unavailableOptional = unavailableOptional;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<String> getAvailableOptional() {
+        return availableOptional;
+    }
+
+    public void setAvailableOptional(List<String> availableOptional) {
+        this.availableOptional = availableOptional;
+    }
+
+    public List<String> getUnavailableOptional() {
+        return unavailableOptional;
+    }
+
+    public void setUnavailableOptional(List<String> unavailableOptional) {
+        this.unavailableOptional = unavailableOptional;
+    }
+}
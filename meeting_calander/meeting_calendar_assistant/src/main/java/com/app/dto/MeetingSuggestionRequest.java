@@ -0,0 +1,91 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+// Meeting to find a time for: who must and who should attend, how long, within which window and
+// preferably at which hours of the day
+public class MeetingSuggestionRequest {
+    private List<String> requiredAttendees;
+    private List<String> optionalAttendees;
+    private long durationMinutes;
+    private Long stepMinutes;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalTime preferredStart;
+    private LocalTime preferredEnd;
+    private int limit = 5;
+
+    public List<String> getRequiredAttendees() {
+        return requiredAttendees;
+    }
+
+    public void setRequiredAttendees(List<String> requiredAttendees) {
+        this.requiredAttendees = requiredAttendees;
+    }
+
+    public List<String> getOptionalAttendees() {
+        return optionalAttendees;
+    }
+
+    public void setOptionalAttendees(List<String> optionalAttendees) {
+        this.optionalAttendees = optionalAttendees;
+    }
+
+    public long getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(long durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public Long getStepMinutes() {
+        return stepMinutes;
+    }
+
+    public void setStepMinutes(Long stepMinutes) {
+        this.stepMinutes = stepMinutes;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public LocalTime getPreferredStart() {
+        return preferredStart;
+    }
+
+    public void setPreferredStart(LocalTime preferredStart) {
+        this.preferredStart = preferredStart;
+    }
+
+    public LocalTime getPreferredEnd() {
+        return preferredEnd;
+    }
+
+    public void setPreferredEnd(LocalTime preferredEnd) {
+        this.preferredEnd = preferredEnd;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
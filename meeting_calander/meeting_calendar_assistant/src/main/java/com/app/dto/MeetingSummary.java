@@ -0,0 +1,79 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of a meeting for calendar views. Occurrences of a recurring series have no
+// id of their own and carry the seriesId instead.
+public class MeetingSummary {
+    private Long id;
+    private Long seriesId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long ownerId;
+    private String ownerName;
+
+    public MeetingSummary() {
+    }
+
+    public MeetingSummary(Long id, LocalDateTime startTime, LocalDateTime endTime, Long ownerId, String ownerName) {
+        this.id = id;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public void setOwnerName(String ownerName) {
+        this.ownerName = ownerName;
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingSummary [id=" + id + ", seriesId=" + seriesId + ", startTime=" + startTime + ", endTime=" + endTime + ", ownerId="
+                + ownerId + ", ownerName=" + ownerName + "]";
+    }
+}
@@ -0,0 +1,25 @@
+package com.app.dto;
+
+import java.util.List;
+
+// Names of the participants to add to and remove from a meeting; either list may be left out
+public class ParticipantChangeRequest {
+    private List<String> add;
+    private List<String> remove;
+
+    public List<String> getAdd() {
+        return add;
+    }
+
+    public void setAdd(List<String> add) {
+        this.add = add;
+    }
+
+    public List<String> getRemove() {
+        return remove;
+    }
+
+    public void setRemove(List<String> remove) {
+        this.remove = remove;
+    }
+}
@@ -3,6 +3,8 @@ package com.app.entities;
 import javax.persistence.*;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
 public class Employee {
 
@@ -12,10 +14,13 @@ public class Employee {
 
 	private String name;
 
-	@OneToMany(mappedBy = "owner", fetch = FetchType.EAGER)
+	// Both sides stay lazy: calendars are read through MeetingRepository projections instead
+	@JsonIgnore
+	@OneToMany(mappedBy = "owner", fetch = FetchType.LAZY)
 	private List<Meeting> meetings;
 
-	@ManyToMany(mappedBy = "participants")
+	@JsonIgnore
+	@ManyToMany(mappedBy = "participants", fetch = FetchType.LAZY)
 	private List<Meeting> participatedMeetings;
 
 	// Constructors, Getters, Setters
@@ -52,7 +57,7 @@ public class Employee {
 
 	@Override
 	public String toString() {
-		return "Employee [id=" + id + ", name=" + name + ", meetings=" + meetings + "]";
+		return "Employee [id=" + id + ", name=" + name + "]";
 	}
 
 	// Getters and setters...
@@ -7,18 +7,26 @@ import java.util.List;
 @Entity
 public class Meeting {
 
+	// Pooled sequence ids let Hibernate batch inserts; IDENTITY would force one statement per row.
+	// Migration V4 starts the sequence above the ids of rows written with auto-increment.
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_seq")
+	@SequenceGenerator(name = "meeting_seq", sequenceName = "meeting_seq", allocationSize = 50)
 	private Long id;
 
 	private LocalDateTime startTime;
 	private LocalDateTime endTime;
 
-	@ManyToOne
+	// Day bucket of the start (epoch day) and the number of day boundaries the meeting crosses.
+	// Overlap queries bound their range scan on startDay by looking back max(spanDays) days.
+	private Integer startDay;
+	private Integer spanDays;
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "owner_id")
 	private Employee owner;
 
-	@ManyToMany
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "meeting_participants", joinColumns = @JoinColumn(name = "meeting_id"), inverseJoinColumns = @JoinColumn(name = "participant_id"))
 	private List<Employee> participants;
 
@@ -33,6 +41,15 @@ public class Meeting {
 		this.participants = participants;
 	}
 
+	@PrePersist
+	@PreUpdate
+	void updateDayBuckets() {
+		if (startTime != null && endTime != null) {
+			startDay = (int) startTime.toLocalDate().toEpochDay();
+			spanDays = (int) (endTime.toLocalDate().toEpochDay() - startDay);
+		}
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -57,6 +74,14 @@ public class Meeting {
 		this.endTime = endTime;
 	}
 
+	public Integer getStartDay() {
+		return startDay;
+	}
+
+	public Integer getSpanDays() {
+		return spanDays;
+	}
+
 	public Employee getOwner() {
 		return owner;
 	}
@@ -75,7 +100,7 @@ public class Meeting {
 
 	@Override
 	public String toString() {
-		return "Meeting [id=" + id + ", startTime=" + startTime + ", endTime=" + endTime + ", owner=" + owner
-				+ ", participants=" + participants + "]";
+		return "Meeting [id=" + id + ", startTime=" + startTime + ", endTime=" + endTime + ", ownerId="
+				+ (owner == null ? null : owner.getId()) + "]";
 	}
 }
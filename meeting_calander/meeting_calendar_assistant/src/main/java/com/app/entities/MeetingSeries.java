@@ -0,0 +1,142 @@
+package com.app.entities;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// A recurring meeting stored once: the first occurrence, how often it repeats, an optional last
+// day and the days on which it is skipped. Occurrences are never materialized as rows; they are
+// expanded from the rule only inside the window being queried.
+@Entity
+public class MeetingSeries {
+
+	public enum Frequency {
+		DAILY, WEEKLY, MONTHLY
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private LocalDateTime firstStart;
+	private long durationMinutes;
+
+	@Enumerated(EnumType.STRING)
+	private Frequency frequency;
+
+	// Repeat every repeatInterval days, weeks or months
+	private int repeatInterval;
+
+	// Last day an occurrence may start on; null repeats forever
+	private LocalDate untilDate;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "owner_id")
+	private Employee owner;
+
+	@ManyToMany(fetch = FetchType.LAZY)
+	@JoinTable(name = "meeting_series_participants", joinColumns = @JoinColumn(name = "series_id"), inverseJoinColumns = @JoinColumn(name = "participant_id"))
+	private List<Employee> participants;
+
+	// Start days of skipped occurrences
+	@ElementCollection(fetch = FetchType.LAZY)
+	@CollectionTable(name = "meeting_series_exceptions", joinColumns = @JoinColumn(name = "series_id"))
+	@Column(name = "exception_date")
+	private Set<LocalDate> exceptions = new HashSet<>();
+
+	public MeetingSeries() {
+	}
+
+	public MeetingSeries(LocalDateTime firstStart, long durationMinutes, Frequency frequency, int repeatInterval,
+			LocalDate untilDate, Employee owner, List<Employee> participants, Set<LocalDate> exceptions) {
+		this.firstStart = firstStart;
+		this.durationMinutes = durationMinutes;
+		this.frequency = frequency;
+		this.repeatInterval = repeatInterval;
+		this.untilDate = untilDate;
+		this.owner = owner;
+		this.participants = participants;
+		this.exceptions = exceptions;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDateTime getFirstStart() {
+		return firstStart;
+	}
+
+	public void setFirstStart(LocalDateTime firstStart) {
+		this.firstStart = firstStart;
+	}
+
+	public long getDurationMinutes() {
+		return durationMinutes;
+	}
+
+	public void setDurationMinutes(long durationMinutes) {
+		this.durationMinutes = durationMinutes;
+	}
+
+	public Frequency getFrequency() {
+		return frequency;
+	}
+
+	public void setFrequency(Frequency frequency) {
+		this.frequency = frequency;
+	}
+
+	public int getRepeatInterval() {
+		return repeatInterval;
+	}
+
+	public void setRepeatInterval(int repeatInterval) {
+		this.repeatInterval = repeatInterval;
+	}
+
+	public LocalDate getUntilDate() {
+		return untilDate;
+	}
+
+	public void setUntilDate(LocalDate untilDate) {
+		this.untilDate = untilDate;
+	}
+
+	public Employee getOwner() {
+		return owner;
+	}
+
+	public void setOwner(Employee owner) {
+		this.owner = owner;
+	}
+
+	public List<Employee> getParticipants() {
+		return participants;
+	}
+
+	public void setParticipants(List<Employee> participants) {
+		this.participants = participants;
+	}
+
+	public Set<LocalDate> getExceptions() {
+		return exceptions;
+	}
+
+	public void setExceptions(Set<LocalDate> exceptions) {
+		this.exceptions = exceptions;
+	}
+
+	@Override
+	public String toString() {
+		return "MeetingSeries [id=" + id + ", firstStart=" + firstStart + ", durationMinutes=" + durationMinutes
+				+ ", frequency=" + frequency + ", repeatInterval=" + repeatInterval + ", untilDate=" + untilDate + "]";
+	}
+}
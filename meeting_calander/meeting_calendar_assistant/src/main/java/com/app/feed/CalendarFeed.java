@@ -0,0 +1,222 @@
+package com.app.feed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.config.AsyncConfig;
+import com.app.dto.CalendarChange;
+import com.app.service.MeetingCalendarIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// In-process bus for calendar changes, pushed to clients as Server-Sent Events. The calendar index
+// publishes every change once it is applied, and each change goes to the subscribers watching any
+// of its employees. A subscriber's changes wait in a bounded queue that the feed's own executor
+// drains into its emitter, so publishing never blocks on a client, nor sends from the committing
+// thread. When the queue overflows, the
+// queued changes are dropped and one RESYNC event is sent instead, so a slow client costs at
+// most buffer-size changes of memory and re-reads its calendars once it catches up.
+@Component
+public class CalendarFeed {
+
+    // Event ids grow with publication; clients only echo the last one back as Last-Event-ID
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ConcurrentMap<Long, Set<Subscriber>> byEmployee = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Executor executor;
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    private final Counter resyncs;
+
+    public CalendarFeed(MeetingCalendarIndex calendarIndex,
+            @Qualifier(AsyncConfig.FEED_EXECUTOR) Executor executor, MeterRegistry registry,
+            @Value("${meeting.feed.buffer-size:256}") int bufferSize,
+            @Value("${meeting.feed.timeout-ms:1800000}") long timeoutMillis) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Feed buffer size must be positive: " + bufferSize);
+        }
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("meeting.feed.subscribers", subscribers, Set::size).register(registry);
+        this.resyncs = registry.counter("meeting.feed.resyncs");
+        calendarIndex.setChangeListener(this::publish);
+    }
+
+    // Stream the changes of the given employees, starting with a "subscribed" comment whose id is
+    // the latest event's: every change after it is delivered. A client reconnecting with the id of
+    // the last event it saw starts with RESYNC if anything was published since, as nothing is
+    // replayed.
+    public SseEmitter subscribe(Collection<Long> employeeIds, String lastEventId) {
+        Subscriber subscriber = new Subscriber(new HashSet<>(employeeIds), newEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+        // Registered before the sequence is read, so every change after the id sent below is queued;
+        // the drain is held back until the comment is out, so nothing overtakes it
+        subscriber.draining.set(true);
+        subscribers.add(subscriber);
+        for (Long id : subscriber.employeeIds) {
+            byEmployee.compute(id, (key, watching) -> {
+                Set<Subscriber> set = watching == null ? ConcurrentHashMap.newKeySet() : watching;
+                set.add(subscriber);
+                return set;
+            });
+        }
+        long current = sequence.get();
+        try {
+            // Also commits the response, whose headers are otherwise held back until the first change
+            subscriber.emitter.send(SseEmitter.event().id(Long.toString(current)).comment("subscribed"));
+        } catch (IOException e) {
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return subscriber.emitter;
+        }
+        if (lastEventId != null && !lastEventId.equals(Long.toString(current))) {
+            subscriber.resync.set(true);
+        }
+        subscriber.draining.set(false);
+        if (!subscriber.queue.isEmpty() || subscriber.resync.get()) {
+            subscriber.schedule();
+        }
+        return subscriber.emitter;
+    }
+
+    // Queue the change for every subscriber watching one of its employees, including those taken
+    // off the meeting, once per subscriber
+    public void publish(CalendarChange change) {
+        long id = sequence.incrementAndGet();
+        Set<Subscriber> targets = new HashSet<>();
+        addWatching(targets, change.getEmployeeIds());
+        if (change.getRemovedEmployeeIds() != null) {
+            addWatching(targets, change.getRemovedEmployeeIds());
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(id, change);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Emitter of a new subscription
+    protected SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void addWatching(Set<Subscriber> targets, List<Long> employeeIds) {
+        for (Long employeeId : employeeIds) {
+            Set<Subscriber> watching = byEmployee.get(employeeId);
+            if (watching != null) {
+                targets.addAll(watching);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long id : subscriber.employeeIds) {
+            byEmployee.computeIfPresent(id, (key, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+
+    private static final class Event {
+        final long id;
+        final CalendarChange change;
+
+        Event(long id, CalendarChange change) {
+            this.id = id;
+            this.change = change;
+        }
+    }
+
+    private final class Subscriber {
+        final Set<Long> employeeIds;
+        final SseEmitter emitter;
+        final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(bufferSize);
+        // Set on overflow; the drain sends RESYNC before anything queued after it
+        final AtomicBoolean resync = new AtomicBoolean();
+        // At most one drain per subscriber is scheduled or running
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Set<Long> employeeIds, SseEmitter emitter) {
+            this.employeeIds = employeeIds;
+            this.emitter = emitter;
+        }
+
+        void offer(long id, CalendarChange change) {
+            if (!queue.offer(new Event(id, change))) {
+                queue.clear();
+                resync.set(true);
+                resyncs.increment();
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Left queued; the next change schedules another drain
+                    draining.set(false);
+                }
+            }
+        }
+
+        void drain() {
+            try {
+                do {
+                    if (resync.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().id(Long.toString(sequence.get()))
+                                .name(CalendarChange.Type.RESYNC.name()).data(CalendarChange.resync()));
+                    }
+                    List<Event> batch = new ArrayList<>();
+                    queue.drainTo(batch);
+                    for (Event event : batch) {
+                        emitter.send(SseEmitter.event().id(Long.toString(event.id))
+                                .name(event.change.getType().name()).data(event.change));
+                    }
+                    draining.set(false);
+                    // A change queued after the last drainTo but before the flag was cleared
+                    // found the drain still running and scheduled nothing
+                } while ((!queue.isEmpty() || resync.get()) && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or emitter already completed; the container completes the request
+                draining.set(false);
+                unsubscribe(this);
+            }
+        }
+    }
+}
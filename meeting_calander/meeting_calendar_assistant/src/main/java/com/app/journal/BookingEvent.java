@@ -0,0 +1,147 @@
+package com.app.journal;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+
+// One accepted booking, or the cancellation of one, as written to the journal. `persisted` marks
+// events that were already committed to the database when they were journaled, so the sink skips
+// them; cancellations always are, and an edited meeting is journaled as the cancellation of its
+// old state followed by a booking of its new one.
+public final class BookingEvent {
+
+    static final byte BOOKED = 1;
+    static final byte CANCELLED = 2;
+
+    private final byte type;
+    private final long meetingId;
+    private final long ownerId;
+    private final long[] participantIds;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final boolean persisted;
+
+    BookingEvent(byte type, long meetingId, long ownerId, long[] participantIds, LocalDateTime start,
+            LocalDateTime end, boolean persisted) {
+        this.type = type;
+        this.meetingId = meetingId;
+        this.ownerId = ownerId;
+        this.participantIds = participantIds;
+        this.start = start;
+        this.end = end;
+        this.persisted = persisted;
+    }
+
+    public static BookingEvent of(Meeting meeting, boolean persisted) {
+        return of(BOOKED, meeting, persisted);
+    }
+
+    public static BookingEvent cancelled(Meeting meeting) {
+        return of(CANCELLED, meeting, true);
+    }
+
+    private static BookingEvent of(byte type, Meeting meeting, boolean persisted) {
+        List<Employee> participants = meeting.getParticipants() == null ? List.of() : meeting.getParticipants();
+        long[] participantIds = new long[participants.size()];
+        for (int i = 0; i < participantIds.length; i++) {
+            participantIds[i] = participants.get(i).getId();
+        }
+        return new BookingEvent(type, meeting.getId(), meeting.getOwner().getId(), participantIds,
+                meeting.getStartTime(), meeting.getEndTime(), persisted);
+    }
+
+    public boolean isCancellation() {
+        return type == CANCELLED;
+    }
+
+    // The booking as a detached meeting whose attendees carry only their ids
+    public Meeting toMeeting() {
+        List<Employee> participants = new ArrayList<>(participantIds.length);
+        for (long id : participantIds) {
+            participants.add(employee(id));
+        }
+        Meeting meeting = new Meeting(start, end, employee(ownerId), participants);
+        meeting.setId(meetingId);
+        return meeting;
+    }
+
+    private static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+
+    long getMeetingId() {
+        return meetingId;
+    }
+
+    long getOwnerId() {
+        return ownerId;
+    }
+
+    long[] getParticipantIds() {
+        return participantIds;
+    }
+
+    LocalDateTime getStart() {
+        return start;
+    }
+
+    LocalDateTime getEnd() {
+        return end;
+    }
+
+    boolean isPersisted() {
+        return persisted;
+    }
+
+    // type, flags, meeting id, owner id, start and end as second + nano, participant count and ids
+    int size() {
+        return 1 + 1 + 8 + 8 + 12 + 12 + 4 + 8 * participantIds.length;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(type);
+        buffer.put((byte) (persisted ? 1 : 0));
+        buffer.putLong(meetingId);
+        buffer.putLong(ownerId);
+        putTime(buffer, start);
+        putTime(buffer, end);
+        buffer.putInt(participantIds.length);
+        for (long id : participantIds) {
+            buffer.putLong(id);
+        }
+    }
+
+    static BookingEvent readFrom(ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type != BOOKED && type != CANCELLED) {
+            throw new IllegalStateException("Unknown journal event type " + type);
+        }
+        boolean persisted = buffer.get() == 1;
+        long meetingId = buffer.getLong();
+        long ownerId = buffer.getLong();
+        LocalDateTime start = getTime(buffer);
+        LocalDateTime end = getTime(buffer);
+        long[] participantIds = new long[buffer.getInt()];
+        for (int i = 0; i < participantIds.length; i++) {
+            participantIds[i] = buffer.getLong();
+        }
+        return new BookingEvent(type, meetingId, ownerId, participantIds, start, end, persisted);
+    }
+
+    private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+        buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(time.getNano());
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        return LocalDateTime.ofEpochSecond(seconds, buffer.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,507 @@
+package com.app.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.custom_exceptions.ConflictException;
+import com.app.dto.AttendeeBusyInterval;
+import com.app.entities.Meeting;
+import com.app.service.MeetingCalendarIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Event-sourced booking mode (meeting.journal.enabled). A booking is accepted once its event is
+// appended to the memory-mapped journal and applied to the in-memory calendar projection
+// (MeetingCalendarIndex); the database rows are written afterwards by a background sink, which
+// can be switched off. On startup the projection is restored from the latest snapshot and the
+// journal tail after it, and bookings the sink had not written yet are merged into timelines
+// loaded from the database and handed to the sink again. Until the sink writes a booking it is
+// read from here; it can be edited only once it is in the database, so with the sink switched
+// off journaled bookings are read-only.
+//
+// The sink group-commits: each transaction batch-inserts everything queued while the previous
+// one was being written, up to batch-size bookings, and the journal is forced once per batch.
+// While the sink runs, accepted bookings it has not written are bounded by queue-capacity; past
+// it new bookings are refused rather than queued, and a caller that needs its booking durable
+// can wait for the batch that writes it.
+@Component
+@ConditionalOnProperty(name = "meeting.journal.enabled", havingValue = "true")
+public class BookingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+
+    private final MeetingCalendarIndex calendarIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Path directory;
+    private final int growBy;
+    private final boolean forceOnAppend;
+    private final long snapshotEvery;
+    private final boolean sinkEnabled;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long awaitTimeoutMillis;
+
+    // Appends take the read lock; a snapshot takes the write lock to see a position together
+    // with every event before it applied
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    // Bookings not written to the database yet, by meeting id
+    private final ConcurrentMap<Long, BookingEvent> unsunk = new ConcurrentHashMap<>();
+    private final BlockingQueue<MappedJournal.Entry> sinkQueue = new LinkedBlockingQueue<>();
+    // Callers waiting for the sink to write their booking, by meeting id
+    private final ConcurrentMap<Long, CompletableFuture<Boolean>> awaitingSink = new ConcurrentHashMap<>();
+    private final AtomicLong sinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(
+            runnable -> daemon(runnable, "booking-journal-snapshot"));
+
+    private MappedJournal journal;
+    private Thread sink;
+    private volatile boolean running;
+
+    private final Timer flushes;
+    private final DistributionSummary batchSizes;
+    private final Counter flushFailures;
+
+    public BookingJournal(MeetingCalendarIndex calendarIndex, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${meeting.journal.directory:data/journal}") String directory,
+            @Value("${meeting.journal.grow-by-mb:64}") int growByMb,
+            @Value("${meeting.journal.force-on-append:false}") boolean forceOnAppend,
+            @Value("${meeting.journal.snapshot-every:10000}") long snapshotEvery,
+            @Value("${meeting.journal.sink.enabled:true}") boolean sinkEnabled,
+            @Value("${meeting.journal.sink.queue-capacity:10000}") int queueCapacity,
+            @Value("${meeting.journal.sink.batch-size:100}") int batchSize,
+            @Value("${meeting.journal.sink.await-timeout-ms:5000}") long awaitTimeoutMillis,
+            MeterRegistry registry) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Sink queue capacity and batch size must be positive");
+        }
+        this.calendarIndex = calendarIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.growBy = growByMb << 20;
+        this.forceOnAppend = forceOnAppend;
+        this.snapshotEvery = snapshotEvery;
+        this.sinkEnabled = sinkEnabled;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        Gauge.builder("meeting.journal.sink.queue", unsunk, Map::size)
+                .description("Accepted bookings not written to the database yet")
+                .register(registry);
+        this.flushes = Timer.builder("meeting.journal.sink.flush")
+                .description("One sink transaction writing a batch of bookings")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("meeting.journal.sink.batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.flushFailures = registry.counter("meeting.journal.sink.failures");
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        journal = MappedJournal.open(directory.resolve("bookings.journal"), growBy);
+        CalendarSnapshot snapshot = CalendarSnapshot.read(snapshotFile());
+        // A snapshot ahead of the journal saw events that were lost with a torn tail; one behind
+        // its start predates a compaction whose snapshot was lost
+        boolean restore = snapshot != null && snapshot.getPosition() <= journal.end()
+                && snapshot.getPosition() >= journal.start();
+        long persisted = journal.persistedPosition();
+        long from = restore ? Math.min(snapshot.getPosition(), persisted) : persisted;
+
+        if (restore) {
+            calendarIndex.restore(snapshot.getMeetings());
+        }
+        for (MappedJournal.Entry entry : journal.readFrom(from)) {
+            BookingEvent event = entry.getEvent();
+            if (restore && entry.getEnd() > snapshot.getPosition()) {
+                if (event.isCancellation()) {
+                    calendarIndex.recordDurableCancellation(event.toMeeting());
+                } else {
+                    calendarIndex.recordDurableBooking(event.toMeeting());
+                }
+            }
+            if (entry.getEnd() > persisted && !event.isPersisted()) {
+                unsunk.put(event.getMeetingId(), event);
+                if (sinkEnabled) {
+                    sinkQueue.add(entry);
+                }
+            }
+        }
+        calendarIndex.setPendingSource(this::pendingIntervals);
+
+        running = true;
+        if (sinkEnabled) {
+            sink = daemon(this::drain, "booking-journal-sink");
+            sink.start();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        if (sink != null) {
+            sink.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        snapshotWriter.shutdown();
+        snapshotWriter.awaitTermination(10, TimeUnit.SECONDS);
+        snapshot();
+        journal.close();
+    }
+
+    // Next meeting id from the same pooled sequence JPA uses, so sunk rows keep their ids
+    public long nextMeetingId() {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        return ((Number) session.getFactory().getMetamodel().entityPersister(Meeting.class).getIdentifierGenerator()
+                .generate(session, null)).longValue();
+    }
+
+    // Accept a booking: append it, apply it to the projection and queue it for the database.
+    // Refused before anything is written when queue-capacity bookings are already waiting for the
+    // sink; without a sink nothing drains them, so there is no bound.
+    public void book(Meeting meeting) {
+        BookingEvent event = BookingEvent.of(meeting, false);
+        snapshotLock.readLock().lock();
+        try {
+            // Queue order follows journal order, so the sink can advance its position safely
+            synchronized (sinkQueue) {
+                if (sinkEnabled && unsunk.size() >= queueCapacity) {
+                    throw new RejectedExecutionException("Booking queue is full");
+                }
+                long end = journal.append(event);
+                unsunk.put(event.getMeetingId(), event);
+                if (sinkEnabled) {
+                    sinkQueue.add(new MappedJournal.Entry(event, end));
+                }
+            }
+            if (forceOnAppend) {
+                journal.force();
+            }
+            calendarIndex.recordDurableBooking(meeting);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        afterAppend();
+    }
+
+    // Journal meetings written through JPA (batch bookings) once their transaction commits, so a
+    // projection restored from a snapshot still sees them
+    public void recordPersisted(List<Meeting> meetings) {
+        List<BookingEvent> events = new ArrayList<>(meetings.size());
+        for (Meeting meeting : meetings) {
+            events.add(BookingEvent.of(meeting, true));
+        }
+        appendAfterCommit(events);
+    }
+
+    // Journal a meeting edited or, when `after` is null, cancelled through JPA once the
+    // transaction commits, as the cancellation of its old state and a booking of its new one
+    public void recordUpdate(Meeting before, Meeting after) {
+        List<BookingEvent> events = new ArrayList<>(2);
+        events.add(BookingEvent.cancelled(before));
+        if (after != null) {
+            events.add(BookingEvent.of(after, true));
+        }
+        appendAfterCommit(events);
+    }
+
+    // Completes with true once the sink's transaction writing the meeting commits and the journal
+    // is forced, or with false when that takes longer than the await timeout or there is no sink to write it
+    public CompletableFuture<Boolean> whenPersisted(long meetingId) {
+        if (!unsunk.containsKey(meetingId)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!sinkEnabled) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> persisted = awaitingSink.computeIfAbsent(meetingId,
+                id -> new CompletableFuture<>());
+        // The sink drops a meeting from unsunk before completing its waiter, so one of the two
+        // checks sees it written
+        if (!unsunk.containsKey(meetingId)) {
+            awaitingSink.remove(meetingId, persisted);
+            persisted.complete(true);
+        }
+        return persisted.completeOnTimeout(false, awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Edits go through the database, so a meeting the sink has not written yet is waited for.
+    // Without a sink it never will be, and the edit is refused for good rather than retried.
+    public void awaitPersisted(long meetingId) {
+        if (!sinkEnabled && unsunk.containsKey(meetingId)) {
+            throw new ConflictException("Meeting " + meetingId
+                    + " is only in the booking journal and cannot be edited while meeting.journal.sink.enabled=false");
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (unsunk.containsKey(meetingId)) {
+            if (System.nanoTime() > deadline) {
+                throw new ConflictException("Meeting " + meetingId + " is not written to the database yet, retry later");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConflictException("Interrupted while waiting for meeting " + meetingId + " to be written");
+            }
+        }
+    }
+
+    // A booking the sink has not written yet, as a detached meeting whose attendees carry only their ids
+    public Optional<Meeting> findUnsunk(long meetingId) {
+        BookingEvent event = unsunk.get(meetingId);
+        return event == null ? Optional.empty() : Optional.of(event.toMeeting());
+    }
+
+    // The employee's bookings the sink has not written yet that overlap [from, to), owned or
+    // participated alike
+    public List<Meeting> findUnsunk(long employeeId, LocalDateTime from, LocalDateTime to) {
+        if (unsunk.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Meeting> meetings = new ArrayList<>();
+        for (BookingEvent event : unsunk.values()) {
+            if (event.getStart().isBefore(to) && event.getEnd().isAfter(from) && attends(event, employeeId)) {
+                meetings.add(event.toMeeting());
+            }
+        }
+        return meetings;
+    }
+
+    private static boolean attends(BookingEvent event, long employeeId) {
+        if (event.getOwnerId() == employeeId) {
+            return true;
+        }
+        for (long id : event.getParticipantIds()) {
+            if (id == employeeId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendAfterCommit(List<BookingEvent> events) {
+        Runnable append = () -> {
+            snapshotLock.readLock().lock();
+            try {
+                synchronized (sinkQueue) {
+                    events.forEach(journal::append);
+                }
+            } finally {
+                snapshotLock.readLock().unlock();
+            }
+            afterAppend();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append.run();
+                }
+            });
+        } else {
+            append.run();
+        }
+    }
+
+    // Write the projection with the journal position it reflects, then drop the journal records
+    // that both it and the database hold: a restart replays from the earlier of the two positions
+    public void snapshot() throws IOException {
+        long position;
+        CalendarSnapshot snapshot;
+        snapshotLock.writeLock().lock();
+        try {
+            position = journal.end();
+            snapshot = new CalendarSnapshot(position, calendarIndex.loadedMeetings());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        snapshot.write(snapshotFile());
+        journal.compact(Math.min(position, journal.persistedPosition()));
+    }
+
+    // Number of bookings the sink has not written to the database yet
+    public int pendingCount() {
+        return unsunk.size();
+    }
+
+    private void afterAppend() {
+        if (sinceSnapshot.incrementAndGet() >= snapshotEvery && snapshotting.compareAndSet(false, true)) {
+            sinceSnapshot.set(0);
+            snapshotWriter.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IOException e) {
+                    log.warn("Cannot write calendar snapshot", e);
+                } finally {
+                    snapshotting.set(false);
+                }
+            });
+        }
+    }
+
+    private List<AttendeeBusyInterval> pendingIntervals(Collection<Long> employeeIds) {
+        if (unsunk.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<AttendeeBusyInterval> intervals = new ArrayList<>();
+        for (BookingEvent event : unsunk.values()) {
+            Set<Long> attendees = new HashSet<>();
+            attendees.add(event.getOwnerId());
+            for (long id : event.getParticipantIds()) {
+                attendees.add(id);
+            }
+            for (Long id : attendees) {
+                if (employeeIds.contains(id)) {
+                    intervals.add(new AttendeeBusyInterval(id, event.getMeetingId(), event.getStart(), event.getEnd()));
+                }
+            }
+        }
+        return intervals;
+    }
+
+    // Sink loop: write queued bookings in batches, then move the persisted position past them and
+    // release their waiters. A failed batch is retried until the database is back or the
+    // application stops.
+    private void drain() {
+        List<MappedJournal.Entry> batch = new ArrayList<>();
+        while (running || !sinkQueue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    MappedJournal.Entry first = sinkQueue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    sinkQueue.drainTo(batch, batchSize - 1);
+                }
+                long started = System.nanoTime();
+                write(batch);
+                flushes.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch.size());
+                journal.markPersisted(batch.get(batch.size() - 1).getEnd());
+                // One msync per batch: the records and the persisted position survive an OS crash
+                // before any waiter is told its booking is durable
+                journal.force();
+                for (MappedJournal.Entry entry : batch) {
+                    long meetingId = entry.getEvent().getMeetingId();
+                    unsunk.remove(meetingId);
+                    CompletableFuture<Boolean> waiter = awaitingSink.remove(meetingId);
+                    if (waiter != null) {
+                        waiter.complete(true);
+                    }
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                log.warn("Cannot write {} journaled bookings to the database, retrying", batch.size(), e);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Insert the batch in one transaction; rows already written before a restart are skipped
+    private void write(List<MappedJournal.Entry> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object> ids = new ArrayList<>();
+            for (MappedJournal.Entry entry : batch) {
+                ids.add(entry.getEvent().getMeetingId());
+            }
+            Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+                    "select id from meeting where id in (" + String.join(",", Collections.nCopies(ids.size(), "?"))
+                            + ")", Long.class, ids.toArray()));
+
+            List<Object[]> meetings = new ArrayList<>();
+            List<Object[]> participants = new ArrayList<>();
+            for (MappedJournal.Entry entry : batch) {
+                BookingEvent event = entry.getEvent();
+                if (existing.contains(event.getMeetingId())) {
+                    continue;
+                }
+                int startDay = (int) event.getStart().toLocalDate().toEpochDay();
+                meetings.add(new Object[] { event.getMeetingId(), Timestamp.valueOf(event.getStart()),
+                        Timestamp.valueOf(event.getEnd()), event.getOwnerId(), startDay,
+                        (int) event.getEnd().toLocalDate().toEpochDay() - startDay });
+                for (long participantId : event.getParticipantIds()) {
+                    participants.add(new Object[] { event.getMeetingId(), participantId });
+                }
+            }
+            jdbcTemplate.batchUpdate("insert into meeting (id, start_time, end_time, owner_id, start_day, span_days) "
+                    + "values (?, ?, ?, ?, ?, ?)", meetings);
+            jdbcTemplate.batchUpdate("insert into meeting_participants (meeting_id, participant_id) values (?, ?)",
+                    participants);
+        });
+    }
+
+    private Path snapshotFile() {
+        return directory.resolve("calendar.snapshot");
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
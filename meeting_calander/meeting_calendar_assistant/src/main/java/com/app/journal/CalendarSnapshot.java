@@ -0,0 +1,100 @@
+package com.app.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// The calendar projection at one journal position: every loaded employee's meetings as flat
+// [meetingId, start, end, ...] epoch-minute triples. Written to a temporary file and renamed into
+// place, with a trailing checksum, so a crash leaves either the old snapshot or the new one.
+public final class CalendarSnapshot {
+
+    private static final int MAGIC = 0x4D435331;
+
+    private final long position;
+    private final Map<Long, long[]> meetings;
+
+    public CalendarSnapshot(long position, Map<Long, long[]> meetings) {
+        this.position = position;
+        this.meetings = meetings;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public Map<Long, long[]> getMeetings() {
+        return meetings;
+    }
+
+    public void write(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                OutputStream out = Channels.newOutputStream(channel);
+                DataOutputStream data = new DataOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(out, 1 << 16), crc))) {
+            data.writeInt(MAGIC);
+            data.writeLong(position);
+            data.writeInt(meetings.size());
+            for (Map.Entry<Long, long[]> employee : meetings.entrySet()) {
+                data.writeLong(employee.getKey());
+                data.writeInt(employee.getValue().length);
+                for (long value : employee.getValue()) {
+                    data.writeLong(value);
+                }
+            }
+            data.flush();
+            // The checksum itself is written past the checked stream
+            new DataOutputStream(out).writeLong(crc.getValue());
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // The snapshot in `file`, or null when there is none or it does not check out
+    public static CalendarSnapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+                DataInputStream data = new DataInputStream(new CheckedInputStream(in, crc))) {
+            if (data.readInt() != MAGIC) {
+                return null;
+            }
+            long position = data.readLong();
+            int employees = data.readInt();
+            Map<Long, long[]> meetings = new HashMap<>(employees * 2);
+            for (int e = 0; e < employees; e++) {
+                long id = data.readLong();
+                long[] triples = new long[data.readInt()];
+                for (int i = 0; i < triples.length; i++) {
+                    triples[i] = data.readLong();
+                }
+                meetings.put(id, triples);
+            }
+            long expected = crc.getValue();
+            return new DataInputStream(in).readLong() == expected ? new CalendarSnapshot(position, meetings) : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
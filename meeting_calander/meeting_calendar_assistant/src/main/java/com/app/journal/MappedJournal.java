@@ -0,0 +1,210 @@
+package com.app.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Append-only booking journal in a memory-mapped file. Records are [length, crc32, payload]; the
+// length is written last, so a record torn by a crash reads as the end of the journal. The header
+// keeps the position up to which the database sink has written every record. The mapping grows
+// by `growBy` bytes at a time. Positions are logical: compaction drops the records before a
+// position by rewriting the file with the rest, and the header keeps the offset of the file's
+// first record, so positions stay valid and only the records kept must fit in one mapping (2 GiB).
+public final class MappedJournal implements Closeable {
+
+    static final int HEADER = 64;
+    private static final int MAGIC = 0x4D434A31;
+    private static final int RECORD_HEADER = 8;
+    private static final int PERSISTED_AT = 8;
+    private static final int OFFSET_AT = 16;
+
+    // One decoded record and the position right after it
+    public static final class Entry {
+        private final BookingEvent event;
+        private final long end;
+
+        Entry(BookingEvent event, long end) {
+            this.event = event;
+            this.end = end;
+        }
+
+        public BookingEvent getEvent() {
+            return event;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+
+    private final Path file;
+    private final int growBy;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    // Logical position of file offset 0; zero until the first compaction
+    private long offset;
+    private int end;
+
+    private MappedJournal(Path file, FileChannel channel, int growBy) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.growBy = growBy;
+        long size = channel.size();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, HEADER + (long) growBy));
+        if (size == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(PERSISTED_AT, HEADER);
+        } else if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a booking journal");
+        }
+        offset = buffer.getLong(OFFSET_AT);
+        end = scan();
+    }
+
+    public static MappedJournal open(Path file, int growBy) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        return new MappedJournal(file, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), growBy);
+    }
+
+    // Append one record and return the position right after it
+    public synchronized long append(BookingEvent event) {
+        int size = event.size();
+        ensureCapacity((long) end + RECORD_HEADER + size);
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(end + RECORD_HEADER);
+        event.writeTo(payload);
+        buffer.putInt(end + 4, crc(end + RECORD_HEADER, size));
+        buffer.putInt(end, size);
+        end += RECORD_HEADER + size;
+        return offset + end;
+    }
+
+    // Records from `from` (a record boundary) to the end, in append order
+    public synchronized List<Entry> readFrom(long from) {
+        List<Entry> entries = new ArrayList<>();
+        int position = (int) Math.max(from - offset, HEADER);
+        while (position < end) {
+            int size = buffer.getInt(position);
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(position + RECORD_HEADER);
+            payload.limit(position + RECORD_HEADER + size);
+            position += RECORD_HEADER + size;
+            entries.add(new Entry(BookingEvent.readFrom(payload), offset + position));
+        }
+        return entries;
+    }
+
+    public synchronized long end() {
+        return offset + end;
+    }
+
+    // Position of the first record kept
+    public synchronized long start() {
+        return offset + HEADER;
+    }
+
+    public synchronized long persistedPosition() {
+        return buffer.getLong(PERSISTED_AT);
+    }
+
+    public synchronized void markPersisted(long position) {
+        buffer.putLong(PERSISTED_AT, position);
+    }
+
+    // Write dirty pages to the device; without it a record survives a process crash but not an
+    // operating system crash
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    // Drop the records before `position` (a record boundary). The ones after it are copied to a new
+    // file that then replaces this one, so a crash leaves either the old journal or the new one.
+    public synchronized void compact(long position) throws IOException {
+        int cut = (int) Math.min(position - offset, end);
+        if (cut <= HEADER) {
+            return;
+        }
+        int kept = end - cut;
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer copy = target.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) kept + growBy);
+            copy.putInt(0, MAGIC);
+            copy.putLong(PERSISTED_AT, buffer.getLong(PERSISTED_AT));
+            copy.putLong(OFFSET_AT, offset + cut - HEADER);
+            ByteBuffer records = buffer.duplicate();
+            records.position(cut);
+            records.limit(end);
+            copy.position(HEADER);
+            copy.put(records);
+            copy.force();
+        }
+        channel.close();
+        Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        offset += cut - HEADER;
+        end = HEADER + kept;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // Find the end of the valid records; a torn tail is zeroed so later appends cannot be read
+    // together with its leftovers
+    private int scan() {
+        int position = HEADER;
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            int size = buffer.getInt(position);
+            if (size <= 0 || position + RECORD_HEADER + size > buffer.capacity()
+                    || buffer.getInt(position + 4) != crc(position + RECORD_HEADER, size)) {
+                break;
+            }
+            position += RECORD_HEADER + size;
+        }
+        if (position + RECORD_HEADER <= buffer.capacity() && buffer.getInt(position) != 0) {
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return position;
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long capacity = Math.max(required, (long) buffer.capacity() + growBy);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Booking journal is full");
+        }
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot grow the booking journal", e);
+        }
+    }
+
+    private int crc(int position, int size) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position);
+        payload.limit(position + size);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.metrics;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.app.custom_exceptions.ConflictException;
+import com.app.custom_exceptions.NotFoundException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Timers and size histograms for the scheduling paths. Every timer is tagged with the outcome
+// (ok, conflict, not-found or error) and a bucket of the attendee count, so latency can be read
+// per path and per meeting size; percentile histograms are published for Prometheus.
+@Component
+public class MeetingMetrics {
+
+    public static final String OK = "ok";
+    public static final String CONFLICT = "conflict";
+    public static final String NOT_FOUND = "not-found";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    public MeetingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T time(String name, int attendees, Supplier<T> action) {
+        return time(name, attendees, action, result -> OK);
+    }
+
+    // Run the action and record its latency under the outcome derived from its result; conflicts
+    // and missing entities thrown by the action are recorded as such and rethrown
+    public <T> T time(String name, int attendees, Supplier<T> action, Function<? super T, String> outcome) {
+        Timer.Sample sample = Timer.start(registry);
+        String result = ERROR;
+        try {
+            T value = action.get();
+            result = outcome.apply(value);
+            return value;
+        } catch (ConflictException e) {
+            result = CONFLICT;
+            throw e;
+        } catch (NotFoundException e) {
+            result = NOT_FOUND;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("outcome", result)
+                    .tag("attendees", attendeeBucket(attendees))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    // Record the size of one computation, e.g. busy intervals merged or slots produced
+    public void recordSize(String name, int attendees, long size) {
+        DistributionSummary.builder(name)
+                .tag("attendees", attendeeBucket(attendees))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(size);
+    }
+
+    // Coarse buckets keep the tag cardinality fixed whatever the meeting sizes are
+    static String attendeeBucket(int attendees) {
+        if (attendees <= 2) {
+            return Integer.toString(Math.max(attendees, 1));
+        }
+        if (attendees <= 5) {
+            return "3-5";
+        }
+        if (attendees <= 10) {
+            return "6-10";
+        }
+        if (attendees <= 50) {
+            return "11-50";
+        }
+        return "51+";
+    }
+}
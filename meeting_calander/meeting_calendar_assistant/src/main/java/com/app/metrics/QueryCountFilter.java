@@ -0,0 +1,66 @@
+package com.app.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Records how many SQL statements each API request issued, tagged by the matched URI pattern.
+// An async request keeps its counter in a request attribute across the initial and the async
+// dispatch and is recorded once, when the last dispatch finishes.
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String COUNTER = QueryCountFilter.class.getName() + ".COUNTER";
+
+    private final MeterRegistry registry;
+
+    public QueryCountFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER);
+        if (counter == null) {
+            counter = new AtomicInteger();
+            request.setAttribute(COUNTER, counter);
+        }
+        AtomicInteger previous = QueryCounter.bind(counter);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.restore(previous);
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("meeting.request.queries")
+                        .description("SQL statements issued per API request")
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(counter.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.core.task.TaskDecorator;
+
+// Counts the SQL statements Hibernate prepares on behalf of the current request. The counter is
+// bound to the request thread by QueryCountFilter and carried over to meeting executor threads by
+// the task decorator, so work handed off by the async controllers is still counted.
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    // Bind a counter to this thread and return the one it replaces
+    public static AtomicInteger bind(AtomicInteger counter) {
+        AtomicInteger previous = CURRENT.get();
+        restore(counter);
+        return previous;
+    }
+
+    public static void restore(AtomicInteger previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // Decorator for executors: tasks count into the counter of the thread that submitted them
+    public static TaskDecorator propagating() {
+        return task -> {
+            AtomicInteger counter = CURRENT.get();
+            if (counter == null) {
+                return task;
+            }
+            return () -> {
+                AtomicInteger previous = bind(counter);
+                try {
+                    task.run();
+                } finally {
+                    restore(previous);
+                }
+            };
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+}
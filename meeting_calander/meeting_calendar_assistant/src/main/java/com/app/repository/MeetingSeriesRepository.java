@@ -0,0 +1,23 @@
+package com.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.entities.MeetingSeries;
+
+@Repository
+public interface MeetingSeriesRepository extends JpaRepository<MeetingSeries, Long> {
+
+	 // Every series the given employees own or take part in, with attendees and exceptions fetched,
+	 // so a calendar costs one query per batch of employees however long its series run
+	 @Query("select distinct s from MeetingSeries s join fetch s.owner left join fetch s.participants "
+			 + "left join fetch s.exceptions "
+			 + "where s.owner.id in :employeeIds or exists (select 1 from MeetingSeries x join x.participants p "
+			 + "where x = s and p.id in :employeeIds)")
+	 List<MeetingSeries> findByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+}
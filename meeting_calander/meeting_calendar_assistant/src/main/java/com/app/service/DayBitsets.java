@@ -0,0 +1,142 @@
+package com.app.service;
+
+// Bitset form of busy time: one bit per quantum of a day (1440 one-minute bits or 96 fifteen-minute
+// bits), set when any busy interval touches the quantum, so busy time is rounded outward. Attendee
+// days are combined with word-wide ORs and free time is found by scanning runs of clear bits a word
+// at a time, instead of merging interval lists.
+public final class DayBitsets {
+
+    private DayBitsets() {
+    }
+
+    public static int bitsPerDay(int quantum) {
+        if (quantum <= 0 || EpochMinutes.MINUTES_PER_DAY % quantum != 0) {
+            throw new IllegalArgumentException("Bitset quantum must divide a day evenly: " + quantum);
+        }
+        return (int) (EpochMinutes.MINUTES_PER_DAY / quantum);
+    }
+
+    // Busy bits of one epoch day from sorted epoch-minute pairs overlapping it
+    public static long[] of(long[] busy, long day, int quantum) {
+        int bits = bitsPerDay(quantum);
+        long[] words = new long[(bits + 63) >>> 6];
+        long dayStart = day * EpochMinutes.MINUTES_PER_DAY;
+        long dayEnd = dayStart + EpochMinutes.MINUTES_PER_DAY;
+        for (int i = 0; i < busy.length; i += 2) {
+            long start = Math.max(busy[i], dayStart);
+            long end = Math.min(busy[i + 1], dayEnd);
+            if (start < end) {
+                setRange(words, (int) ((start - dayStart) / quantum), (int) ((end - dayStart + quantum - 1) / quantum));
+            }
+        }
+        return words;
+    }
+
+    // Busy bits of every attendee ORed together
+    public static long[] union(long[][] days) {
+        long[] union = days[0].clone();
+        for (int d = 1; d < days.length; d++) {
+            long[] words = days[d];
+            for (int w = 0; w < union.length; w++) {
+                union[w] |= words[w];
+            }
+        }
+        return union;
+    }
+
+    // Busy bits of one epoch day, combined over all attendees
+    @FunctionalInterface
+    public interface DaySource {
+        long[] busy(long day);
+    }
+
+    // Same slots as FreeSlotCalculator.findFreeTimeSlots over the bitset days of [from, to): a free
+    // run that crosses midnight stays one gap, so its step alignment carries into the next day.
+    // With a one-minute quantum the result is identical; coarser quanta only drop slots that
+    // would overlap a partly busy quantum.
+    public static long[] findFreeTimeSlots(DaySource source, int quantum, long from, long to, long duration,
+            long step, int workStart, int workEnd) {
+        FreeSlotCalculator.SlotBuffer slots = new FreeSlotCalculator.SlotBuffer();
+        if (from >= to) {
+            return slots.toArray();
+        }
+        int bits = bitsPerDay(quantum);
+        long lastDay = Math.floorDiv(to - 1, EpochMinutes.MINUTES_PER_DAY);
+        boolean open = false;
+        long runStart = 0;
+
+        for (long day = Math.floorDiv(from, EpochMinutes.MINUTES_PER_DAY); day <= lastDay; day++) {
+            long[] busy = source.busy(day);
+            long dayStart = day * EpochMinutes.MINUTES_PER_DAY;
+            int bit = 0;
+            while (bit < bits) {
+                if (open) {
+                    int end = nextSetBit(busy, bit, bits);
+                    if (end == bits) {
+                        break;
+                    }
+                    FreeSlotCalculator.addSlotsInGap(slots, Math.max(runStart, from),
+                            Math.min(dayStart + (long) end * quantum, to), duration, step, workStart, workEnd);
+                    open = false;
+                    bit = end;
+                } else {
+                    int start = nextClearBit(busy, bit, bits);
+                    if (start == bits) {
+                        break;
+                    }
+                    runStart = dayStart + (long) start * quantum;
+                    open = true;
+                    bit = start;
+                }
+            }
+        }
+        if (open) {
+            FreeSlotCalculator.addSlotsInGap(slots, Math.max(runStart, from), to, duration, step, workStart,
+                    workEnd);
+        }
+        return slots.toArray();
+    }
+
+    // Index of the first set bit at or after `from`, or `limit` if there is none before it
+    static int nextSetBit(long[] words, int from, int limit) {
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return limit;
+            }
+            word = words[w];
+        }
+        return Math.min(limit, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    // Index of the first clear bit at or after `from`, or `limit` if there is none before it
+    static int nextClearBit(long[] words, int from, int limit) {
+        int w = from >>> 6;
+        long word = ~words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return limit;
+            }
+            word = ~words[w];
+        }
+        return Math.min(limit, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    // Set bits [from, to)
+    private static void setRange(long[] words, int from, int to) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int w = first + 1; w < last; w++) {
+            words[w] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+}
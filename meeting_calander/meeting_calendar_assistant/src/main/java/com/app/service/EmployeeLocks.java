@@ -0,0 +1,97 @@
+package com.app.service;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Striped per-employee locks that serialize bookings sharing an attendee while bookings for
+// disjoint attendees run in parallel. A fixed array of locks is shared by hashing employee ids,
+// so memory stays constant however many employees exist.
+//
+// Stripes are always taken in ascending stripe order. Ordering by stripe rather than by employee
+// id keeps the order total even when two ids hash to the same stripe, so no two bookings can wait
+// on each other.
+@Component
+public class EmployeeLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public EmployeeLocks(@Value("${meeting.booking-lock.stripes:1024}") int stripes) {
+        // Round up to a power of two so the stripe is a mask of the spread hash
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // Lock every employee's stripe until the surrounding transaction completes, so the booking
+    // is committed and indexed before the next booking for the same attendees checks conflicts.
+    // Without a transaction the locks are released when the returned handle is closed.
+    public Held lockUntilCompletion(Collection<Long> employeeIds) {
+        Held held = lock(employeeIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    held.release();
+                }
+            });
+            return Held.NONE;
+        }
+        return held;
+    }
+
+    public Held lock(Collection<Long> employeeIds) {
+        TreeSet<Integer> order = new TreeSet<>();
+        for (Long id : employeeIds) {
+            order.add(stripe(id));
+        }
+        ReentrantLock[] locks = new ReentrantLock[order.size()];
+        int n = 0;
+        try {
+            for (int index : order) {
+                stripes[index].lock();
+                locks[n++] = stripes[index];
+            }
+        } catch (RuntimeException | Error e) {
+            new Held(locks, n).release();
+            throw e;
+        }
+        return new Held(locks, n);
+    }
+
+    // Fibonacci hashing spreads sequential ids evenly across the stripes
+    private int stripe(Long employeeId) {
+        return (int) ((employeeId * 0x9E3779B97F4A7C15L) >>> 32) & (stripes.length - 1);
+    }
+
+    // Locks taken by one booking, released in reverse order
+    public static final class Held implements AutoCloseable {
+        static final Held NONE = new Held(new ReentrantLock[0], 0);
+
+        private final ReentrantLock[] locks;
+        private int count;
+
+        private Held(ReentrantLock[] locks, int count) {
+            this.locks = locks;
+            this.count = count;
+        }
+
+        public void release() {
+            while (count > 0) {
+                locks[--count].unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.app.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.app.custom_exceptions.NotFoundException;
+import com.app.datasource.ReadYourWrites;
 import com.app.entities.Employee;
 import com.app.repository.EmployeeRepository;
 
@@ -14,32 +23,74 @@ import com.app.repository.EmployeeRepository;
 @Transactional
 public class EmployeeService {
 
+    // Caffeine caches configured in application.properties (size + TTL bounded, with stats)
+    public static final String EMPLOYEES_BY_ID = "employeesById";
+    public static final String EMPLOYEES_BY_NAME = "employeesByName";
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
     // Create a new employee
     public Employee createEmployee(Employee employee) {
+        readYourWrites.recordDirectoryWrite();
         return employeeRepository.save(employee);
     }
 
     // Retrieve all employees
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
+        readYourWrites.routeDirectoryReads();
         return employeeRepository.findAll();
     }
 
     // Find an employee by ID
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = EMPLOYEES_BY_ID, key = "#id")
     public Employee findEmployeeById(Long id) {
+        readYourWrites.routeDirectoryReads();
         return employeeRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Employee not found with id: " + id));
     }
     
+    // Find employees by name; cached names are served from memory and the rest are loaded
+    // with a single query
+    @Transactional(readOnly = true)
     public List<Employee> findByNames(List<String> names) {
-        return employeeRepository.findByNameIn(names);
+        Cache cache = cacheManager.getCache(EMPLOYEES_BY_NAME);
+        Set<String> distinct = new LinkedHashSet<>(names);
+        List<Employee> employees = new ArrayList<>(distinct.size());
+        List<String> misses = new ArrayList<>();
+        for (String name : distinct) {
+            Employee cached = cache.get(name, Employee.class);
+            if (cached != null) {
+                employees.add(cached);
+            } else {
+                misses.add(name);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            readYourWrites.routeDirectoryReads();
+            for (Employee employee : employeeRepository.findByNameIn(misses)) {
+                cache.put(employee.getName(), employee);
+                employees.add(employee);
+            }
+        }
+        return employees;
     }
     
     
     // Find an employee by name
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = EMPLOYEES_BY_NAME, key = "#name")
     public Employee findByName(String name) {
+        readYourWrites.routeDirectoryReads();
         return employeeRepository.findByName(name)
                 .orElseThrow(() -> new NotFoundException("Employee not found with name: " + name));
     }
@@ -47,6 +98,8 @@ public class EmployeeService {
     // Update an existing employee
     public Employee updateEmployee(Long id, Employee employeeDetails) {
         Employee employee = findEmployeeById(id);
+        readYourWrites.recordDirectoryWrite();
+        evictAfterCommit(employee);
         employee.setName(employeeDetails.getName());
 //        employee.setEmail(employeeDetails.getEmail());
         // Set other fields as needed
@@ -56,6 +109,30 @@ public class EmployeeService {
     // Delete an employee by ID
     public void deleteEmployee(Long id) {
         Employee employee = findEmployeeById(id);
+        readYourWrites.recordDirectoryWrite();
+        evictAfterCommit(employee);
         employeeRepository.delete(employee);
     }
+
+    // Drop both cache entries of an employee once the change commits, so a lookup running before
+    // that cannot cache the old row again; the name entry is keyed by the old name. Registered after
+    // the directory write, so with replica routing the lookup that refills them reads the primary.
+    private void evictAfterCommit(Employee employee) {
+        Long id = employee.getId();
+        String name = employee.getName();
+        Runnable evict = () -> {
+            cacheManager.getCache(EMPLOYEES_BY_ID).evict(id);
+            cacheManager.getCache(EMPLOYEES_BY_NAME).evict(name);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,30 @@
+package com.app.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Conversions between LocalDateTime and minutes since 1970-01-01T00:00 (local time, no zone).
+// The scheduling core works on these longs; LocalDateTime only appears at the API edge.
+public final class EpochMinutes {
+
+    public static final long MINUTES_PER_DAY = 24 * 60;
+
+    private EpochMinutes() {
+    }
+
+    // Round down to the minute, used for the start of busy time
+    public static long floor(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    // Round up to the minute, used for the end of busy time so partial minutes stay busy
+    public static long ceil(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        long minutes = Math.floorDiv(seconds, 60);
+        return (Math.floorMod(seconds, 60) != 0 || time.getNano() != 0) ? minutes + 1 : minutes;
+    }
+
+    public static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
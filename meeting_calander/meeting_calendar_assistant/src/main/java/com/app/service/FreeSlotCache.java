@@ -0,0 +1,263 @@
+package com.app.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Computed free-slot results keyed by employee set, epoch-minute range, duration, step and working
+// hours. Entries live in the "freeSlots" Caffeine cache (so they show up in /api/caches/stats) and
+// are dropped by MeetingCalendarIndex whenever an attendee's timeline changes inside their range.
+//
+// Every employee has a version that is bumped before their entries are dropped. A result is only
+// kept if none of its employees' versions moved while it was being computed, so a result read
+// from a timeline that changed mid-computation is never served.
+//
+// The same versions guard the per-employee day bitsets of the bitset engine (see DayBitsets),
+// kept in the "dayBitsets" cache and dropped together with the results of the employee.
+//
+// Each employee's cached keys are indexed, so an invalidation visits only that employee's entries
+// instead of scanning both caches. Keys the caches evicted on their own are pruned from the index
+// when their employee is invalidated, or when its key set has doubled since the last prune.
+@Component
+public class FreeSlotCache {
+
+    public static final String FREE_SLOTS = "freeSlots";
+
+    public static final String DAY_BITSETS = "dayBitsets";
+
+    private final Cache<Object, Object> results;
+
+    private final Cache<Object, Object> dayBitsets;
+
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, EmployeeKeys> keysByEmployee = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FreeSlotCache(CacheManager cacheManager) {
+        this(((CaffeineCache) cacheManager.getCache(FREE_SLOTS)).getNativeCache(),
+                ((CaffeineCache) cacheManager.getCache(DAY_BITSETS)).getNativeCache());
+    }
+
+    public FreeSlotCache(Cache<Object, Object> results) {
+        this(results, Caffeine.newBuilder().maximumSize(10_000).build());
+    }
+
+    public FreeSlotCache(Cache<Object, Object> results, Cache<Object, Object> dayBitsets) {
+        this.results = results;
+        this.dayBitsets = dayBitsets;
+    }
+
+    // Cached slots for the key, computing and caching them with the loader on a miss
+    public long[] get(Key key, Supplier<long[]> loader) {
+        long[] cached = (long[]) results.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long[] before = versionsOf(key);
+        long[] slots = loader.get();
+        if (!Arrays.equals(before, versionsOf(key))) {
+            return slots;
+        }
+        // Re-check after publishing: an invalidation that bumped a version in between either
+        // already saw this entry or is undone here
+        results.put(key, slots);
+        for (long employeeId : key.employeeIds) {
+            index(employeeId, key);
+        }
+        if (!Arrays.equals(before, versionsOf(key))) {
+            results.asMap().remove(key, slots);
+        }
+        return slots;
+    }
+
+    // Busy bits of the employee's epoch day at the quantum, computing and caching them on a miss
+    public long[] dayBits(Long employeeId, long day, int quantum, Supplier<long[]> loader) {
+        DayKey key = new DayKey(employeeId, day, quantum);
+        long[] cached = (long[]) dayBitsets.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long before = version(employeeId).get();
+        long[] bits = loader.get();
+        if (before != version(employeeId).get()) {
+            return bits;
+        }
+        dayBitsets.put(key, bits);
+        index(employeeId, key);
+        if (before != version(employeeId).get()) {
+            dayBitsets.asMap().remove(key, bits);
+        }
+        return bits;
+    }
+
+    // Drop every result and day bitset of the employee whose range overlaps [start, end) in epoch
+    // minutes
+    public void invalidate(Long employeeId, long start, long end) {
+        version(employeeId).incrementAndGet();
+        EmployeeKeys cached = keysByEmployee.get(employeeId);
+        if (cached == null) {
+            return;
+        }
+        cached.keys.removeIf(key -> {
+            boolean covered = key instanceof Key ? ((Key) key).covers(employeeId, start, end)
+                    : ((DayKey) key).covers(employeeId, start, end);
+            if (covered) {
+                cacheOf(key).invalidate(key);
+            }
+            return covered || !isCached(key);
+        });
+    }
+
+    // Drop every result of the employee
+    public void invalidate(Long employeeId) {
+        invalidate(employeeId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public void clear() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        results.invalidateAll();
+        dayBitsets.invalidateAll();
+        keysByEmployee.clear();
+    }
+
+    // Record the key under the employee once it is cached
+    private void index(long employeeId, Object key) {
+        EmployeeKeys cached = keysByEmployee.computeIfAbsent(employeeId, id -> new EmployeeKeys());
+        cached.keys.add(key);
+        if (cached.keys.size() >= cached.pruneAt) {
+            cached.keys.removeIf(indexed -> !isCached(indexed));
+            cached.pruneAt = Math.max(EmployeeKeys.MIN_PRUNE_AT, 2 * cached.keys.size());
+        }
+    }
+
+    private Cache<Object, Object> cacheOf(Object key) {
+        return key instanceof Key ? results : dayBitsets;
+    }
+
+    private boolean isCached(Object key) {
+        return cacheOf(key).asMap().containsKey(key);
+    }
+
+    private AtomicLong version(Long employeeId) {
+        return versions.computeIfAbsent(employeeId, id -> new AtomicLong());
+    }
+
+    private long[] versionsOf(Key key) {
+        long[] snapshot = new long[key.employeeIds.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = version(key.employeeIds[i]).get();
+        }
+        return snapshot;
+    }
+
+    // Cached keys of one employee, results and day bitsets alike
+    private static final class EmployeeKeys {
+        static final int MIN_PRUNE_AT = 64;
+
+        final Set<Object> keys = ConcurrentHashMap.newKeySet();
+        volatile int pruneAt = MIN_PRUNE_AT;
+    }
+
+    // Identifies one free-slot query; employee order does not matter
+    public static final class Key {
+        private final long[] employeeIds;
+        private final long from;
+        private final long to;
+        private final long duration;
+        private final long step;
+        private final int workStart;
+        private final int workEnd;
+
+        public Key(Collection<Long> employeeIds, long from, long to, long duration, long step, int workStart,
+                int workEnd) {
+            this.employeeIds = employeeIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            this.from = from;
+            this.to = to;
+            this.duration = duration;
+            this.step = step;
+            this.workStart = workStart;
+            this.workEnd = workEnd;
+        }
+
+        boolean covers(long employeeId, long start, long end) {
+            return start < to && end > from && Arrays.binarySearch(employeeIds, employeeId) >= 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return from == other.from && to == other.to && duration == other.duration && step == other.step
+                    && workStart == other.workStart && workEnd == other.workEnd
+                    && Arrays.equals(employeeIds, other.employeeIds);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Arrays.hashCode(employeeIds);
+            hash = 31 * hash + Long.hashCode(from);
+            hash = 31 * hash + Long.hashCode(to);
+            hash = 31 * hash + Long.hashCode(duration);
+            hash = 31 * hash + Long.hashCode(step);
+            hash = 31 * hash + workStart;
+            return 31 * hash + workEnd;
+        }
+    }
+
+    // Identifies one employee's busy bits for an epoch day at a quantum
+    static final class DayKey {
+        private final long employeeId;
+        private final long day;
+        private final int quantum;
+
+        DayKey(long employeeId, long day, int quantum) {
+            this.employeeId = employeeId;
+            this.day = day;
+            this.quantum = quantum;
+        }
+
+        boolean covers(long employeeId, long start, long end) {
+            long dayStart = day * EpochMinutes.MINUTES_PER_DAY;
+            return this.employeeId == employeeId && start < dayStart + EpochMinutes.MINUTES_PER_DAY && end > dayStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DayKey)) {
+                return false;
+            }
+            DayKey other = (DayKey) o;
+            return employeeId == other.employeeId && day == other.day && quantum == other.quantum;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Long.hashCode(employeeId);
+            hash = 31 * hash + Long.hashCode(day);
+            return 31 * hash + quantum;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.app.service;
+
+import java.util.Arrays;
+
+// Allocation-light slot math on epoch-minute intervals. A calendar is a flat long[] of
+// [start0, end0, start1, end1, ...] pairs sorted by start; no boxing and no per-step objects.
+public final class FreeSlotCalculator {
+
+    // Marker for "no working hours"
+    public static final int ANY_TIME = -1;
+
+    private static final long[] EMPTY = new long[0];
+
+    private FreeSlotCalculator() {
+    }
+
+    // Merge sorted calendars into disjoint busy blocks with a k-way merge over a primitive
+    // binary heap of calendar indices: O(n log k) and no allocation beyond the result.
+    public static long[] mergeBusyTimes(long[][] calendars) {
+        int k = calendars.length;
+        int[] heap = new int[k];
+        int[] cursor = new int[k];
+        int heapSize = 0;
+        int total = 0;
+        for (int c = 0; c < k; c++) {
+            if (calendars[c].length > 0) {
+                heap[heapSize++] = c;
+                total += calendars[c].length;
+            }
+        }
+        if (total == 0) {
+            return EMPTY;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, calendars, cursor);
+        }
+
+        long[] merged = new long[total];
+        int size = 0;
+        long start = 0;
+        long end = 0;
+        boolean open = false;
+
+        while (heapSize > 0) {
+            int c = heap[0];
+            long nextStart = calendars[c][cursor[c]];
+            long nextEnd = calendars[c][cursor[c] + 1];
+            if (!open) {
+                start = nextStart;
+                end = nextEnd;
+                open = true;
+            } else if (nextStart <= end) {
+                end = Math.max(end, nextEnd);
+            } else {
+                merged[size++] = start;
+                merged[size++] = end;
+                start = nextStart;
+                end = nextEnd;
+            }
+
+            cursor[c] += 2;
+            if (cursor[c] == calendars[c].length) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, calendars, cursor);
+        }
+        merged[size++] = start;
+        merged[size++] = end;
+
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    // Slot starts of `duration` minutes inside the gaps of `merged`, stepping by `step` from the
+    // start of each gap and clipped to [workStart, workEnd) minutes-of-day unless ANY_TIME.
+    public static long[] findFreeTimeSlots(long[] merged, long from, long to, long duration, long step,
+            int workStart, int workEnd) {
+        SlotBuffer slots = new SlotBuffer();
+        long gapStart = from;
+
+        for (int i = 0; i < merged.length; i += 2) {
+            if (merged[i] > gapStart) {
+                addSlotsInGap(slots, gapStart, Math.min(merged[i], to), duration, step, workStart, workEnd);
+            }
+            gapStart = Math.max(gapStart, merged[i + 1]);
+        }
+        addSlotsInGap(slots, gapStart, to, duration, step, workStart, workEnd);
+
+        return slots.toArray();
+    }
+
+    static void addSlotsInGap(SlotBuffer slots, long gapStart, long gapEnd, long duration, long step,
+            int workStart, int workEnd) {
+        if (gapStart >= gapEnd) {
+            return;
+        }
+        if (workStart == ANY_TIME) {
+            addSlots(slots, gapStart, gapEnd, duration, step);
+            return;
+        }
+        for (long day = Math.floorDiv(gapStart, EpochMinutes.MINUTES_PER_DAY);
+                day * EpochMinutes.MINUTES_PER_DAY + workStart <= gapEnd; day++) {
+            long dayStart = day * EpochMinutes.MINUTES_PER_DAY;
+            addSlots(slots, Math.max(gapStart, dayStart + workStart), Math.min(gapEnd, dayStart + workEnd), duration,
+                    step);
+        }
+    }
+
+    private static void addSlots(SlotBuffer slots, long windowStart, long windowEnd, long duration, long step) {
+        for (long slot = windowStart; slot + duration <= windowEnd; slot += step) {
+            slots.add(slot);
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int i, long[][] calendars, int[] cursor) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && head(calendars, cursor, heap[right]) < head(calendars, cursor, heap[left])) {
+                smallest = right;
+            }
+            if (head(calendars, cursor, heap[i]) <= head(calendars, cursor, heap[smallest])) {
+                return;
+            }
+            int tmp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = tmp;
+            i = smallest;
+        }
+    }
+
+    private static long head(long[][] calendars, int[] cursor, int c) {
+        return calendars[c][cursor[c]];
+    }
+
+    // Growable primitive buffer for slot starts
+    static final class SlotBuffer {
+        private long[] data = new long[32];
+        private int size;
+
+        void add(long value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.app.service;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Lazy counterpart of FreeSlotCalculator.findFreeTimeSlots for long ranges. Merged busy time is
+// pulled from a BusySource one chunk at a time and slot starts are produced only as they are
+// consumed, so a caller that stops after a few slots never touches the rest of the range. The
+// slots are the same ones findFreeTimeSlots returns for the whole range: a gap that runs across a
+// chunk boundary keeps its step alignment.
+public final class FreeSlotIterator implements PrimitiveIterator.OfLong {
+
+    // Merged busy epoch-minute intervals overlapping [from, to), as flat sorted pairs
+    @FunctionalInterface
+    public interface BusySource {
+        long[] busy(long from, long to);
+    }
+
+    private final BusySource source;
+    private final long to;
+    private final long chunk;
+    private final long duration;
+    private final long step;
+    private final int workStart;
+    private final int workEnd;
+
+    private long[] busy = new long[0];
+    private int index;
+    // Busy time is known up to here
+    private long loadedTo;
+    private long gapStart;
+    // Next candidate slot start inside the current gap
+    private long cursor;
+    private long next;
+    private boolean hasNext;
+    private boolean done;
+
+    public FreeSlotIterator(BusySource source, long from, long to, long chunk, long duration, long step,
+            int workStart, int workEnd) {
+        this.source = source;
+        this.to = to;
+        this.chunk = chunk;
+        this.duration = duration;
+        this.step = step;
+        this.workStart = workStart;
+        this.workEnd = workEnd;
+        this.loadedTo = from;
+        this.gapStart = from;
+        this.cursor = from;
+        // Working hours too short for one slot would otherwise walk the range day by day for nothing
+        this.done = from >= to || (workStart != FreeSlotCalculator.ANY_TIME && workEnd - workStart < duration);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!hasNext && !done) {
+            advance();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public long nextLong() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = false;
+        return next;
+    }
+
+    private void advance() {
+        while (true) {
+            // Skip busy intervals already behind the gap, including ones repeated by the next chunk
+            while (index < busy.length && busy[index + 1] <= gapStart) {
+                index += 2;
+            }
+            long gapEnd;
+            boolean known = true;
+            if (index < busy.length) {
+                if (busy[index] <= gapStart) {
+                    gapStart = busy[index + 1];
+                    cursor = gapStart;
+                    index += 2;
+                    continue;
+                }
+                gapEnd = Math.min(busy[index], to);
+            } else if (loadedTo >= to) {
+                gapEnd = to;
+            } else {
+                // The gap may run on into the next chunk
+                gapEnd = loadedTo;
+                known = false;
+            }
+
+            long slot = alignToWorkingHours(cursor);
+            if (slot + duration <= gapEnd) {
+                next = slot;
+                hasNext = true;
+                cursor = slot + step;
+                return;
+            }
+            if (!known) {
+                load();
+            } else if (gapEnd >= to) {
+                done = true;
+                return;
+            } else {
+                gapStart = busy[index + 1];
+                cursor = gapStart;
+                index += 2;
+            }
+        }
+    }
+
+    // First start at or after `slot` inside the working hours of its day or the next day
+    private long alignToWorkingHours(long slot) {
+        if (workStart == FreeSlotCalculator.ANY_TIME) {
+            return slot;
+        }
+        long dayStart = Math.floorDiv(slot, EpochMinutes.MINUTES_PER_DAY) * EpochMinutes.MINUTES_PER_DAY;
+        if (slot < dayStart + workStart) {
+            return dayStart + workStart;
+        }
+        if (slot + duration > dayStart + workEnd) {
+            return dayStart + EpochMinutes.MINUTES_PER_DAY + workStart;
+        }
+        return slot;
+    }
+
+    private void load() {
+        long chunkEnd = Math.min(to, loadedTo + chunk);
+        busy = source.busy(loadedTo, chunkEnd);
+        index = 0;
+        loadedTo = chunkEnd;
+    }
+}
@@ -0,0 +1,616 @@
+package com.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.AttendeeBusyInterval;
+import com.app.dto.BusyInterval;
+import com.app.dto.CalendarChange;
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.entities.MeetingSeries;
+import com.app.repository.MeetingRepository;
+import com.app.repository.MeetingSeriesRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// In-memory per-employee calendar used to answer overlap queries without a database round trip.
+// Each employee's timeline is loaded once from MeetingRepository on first use (cold attendees of
+// one request in a single batch) and then kept up to date by the booking path. Recurring series
+// are kept as rules next to the timeline and expanded only inside the queried window. Every
+// change to a timeline also drops the affected FreeSlotCache entries and is handed to the change
+// listener (the calendar change feed). Timelines are bounded in number and dropped when idle; a
+// dropped one is simply loaded again.
+//
+// A change bumps its employees' stamps before touching their timelines. A loader installs a
+// timeline only if the stamps did not move while it read the database: a change stamped before
+// the read had committed before it and is in the result, one stamped after the check finds the
+// timeline installed, and one in between sends the loader round again. That needs a read that
+// sees every commit so far, so loads run in their own read-write transaction: always on the
+// primary, never on a lagging replica, and never in the caller's older snapshot.
+@Component
+public class MeetingCalendarIndex {
+
+    private final MeetingRepository meetingRepository;
+
+    private final MeetingSeriesRepository seriesRepository;
+
+    private final FreeSlotCache freeSlotCache;
+
+    // Null when built without Spring; loads then run in the caller's context
+    private final TransactionTemplate loads;
+
+    private static final int STAMP_STRIPES = 4096;
+
+    private final ConcurrentMap<Long, Timeline> timelines;
+
+    // Change stamps by employee id stripe; a shared stripe only costs a loader an extra round
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    // Bookings accepted but not yet in the database (the journal's unsunk events), merged into
+    // timelines loaded from the repository
+    private volatile Function<Collection<Long>, List<AttendeeBusyInterval>> pending = ids -> List.of();
+
+    // Told about every change once it is applied, i.e. after commit or after the journal append
+    private volatile Consumer<CalendarChange> changes = change -> {
+    };
+
+    @Autowired
+    public MeetingCalendarIndex(MeetingRepository meetingRepository, MeetingSeriesRepository seriesRepository,
+            FreeSlotCache freeSlotCache, PlatformTransactionManager transactionManager,
+            @Value("${meeting.conflict-index.max-employees:100000}") long maxEmployees,
+            @Value("${meeting.conflict-index.idle-minutes:60}") long idleMinutes) {
+        this.meetingRepository = meetingRepository;
+        this.seriesRepository = seriesRepository;
+        this.freeSlotCache = freeSlotCache;
+        if (transactionManager == null) {
+            this.loads = null;
+        } else {
+            this.loads = new TransactionTemplate(transactionManager);
+            this.loads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxEmployees)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .<Long, Timeline>build()
+                .asMap();
+    }
+
+    public MeetingCalendarIndex(MeetingRepository meetingRepository, MeetingSeriesRepository seriesRepository,
+            FreeSlotCache freeSlotCache) {
+        this(meetingRepository, seriesRepository, freeSlotCache, null, 100_000, 60);
+    }
+
+    // Check whether the employee has any meeting overlapping [start, end)
+    public boolean hasOverlap(Employee employee, LocalDateTime start, LocalDateTime end) {
+        return timeline(employee.getId()).hasOverlap(EpochMinutes.floor(start), EpochMinutes.ceil(end));
+    }
+
+    // Check whether the employee is busy at any time in [start, end) epoch minutes
+    public boolean hasOverlap(Long employeeId, long start, long end) {
+        return timeline(employeeId).hasOverlap(start, end);
+    }
+
+    // Busy epoch-minute intervals of the employee overlapping [from, to), as flat sorted pairs;
+    // series occurrences are merged in, so touching intervals may come back as one block
+    public long[] busyMinutes(Employee employee, long from, long to) {
+        return timeline(employee.getId()).overlapping(from, to);
+    }
+
+    // Add a booked meeting to every attendee's timeline once the surrounding transaction commits
+    public void recordBooking(Meeting meeting) {
+        recordBookings(Collections.singletonList(meeting));
+    }
+
+    public void recordBookings(List<Meeting> meetings) {
+        afterCommit(() -> meetings.forEach(this::add));
+    }
+
+    // Add a meeting whose booking is already durable outside the database transaction (written
+    // to the booking journal) to every attendee's timeline right away
+    public void recordDurableBooking(Meeting meeting) {
+        add(meeting);
+    }
+
+    // Take a journaled cancellation out of every attendee's timeline right away (journal replay)
+    public void recordDurableCancellation(Meeting meeting) {
+        remove(meeting);
+        changes.accept(CalendarChange.cancelled(meeting));
+    }
+
+    // Move or re-staff a meeting once the surrounding transaction commits: `before` leaves the
+    // timelines of its attendees and `after`, null for a cancellation, joins those of its own.
+    // Only the free slots cached over the two intervals of the affected attendees are dropped.
+    public void recordUpdate(Meeting before, Meeting after) {
+        afterCommit(() -> {
+            remove(before);
+            if (after == null) {
+                changes.accept(CalendarChange.cancelled(before));
+            } else {
+                addToTimelines(after);
+                changes.accept(CalendarChange.updated(before, after));
+            }
+        });
+    }
+
+    // Add a booked series to every attendee's timeline once the surrounding transaction commits
+    public void recordSeries(MeetingSeries series) {
+        Recurrence recurrence = Recurrence.of(series);
+        List<Employee> attendees = new ArrayList<>();
+        attendees.add(series.getOwner());
+        if (series.getParticipants() != null) {
+            attendees.addAll(series.getParticipants());
+        }
+        afterCommit(() -> {
+            for (Employee attendee : attendees) {
+                Timeline timeline = stampedTimeline(attendee.getId());
+                if (timeline != null) {
+                    timeline.addSeries(recurrence);
+                }
+                freeSlotCache.invalidate(attendee.getId(), EpochMinutes.floor(series.getFirstStart()),
+                        recurrence.lastMinute());
+            }
+            changes.accept(CalendarChange.seriesBooked(series));
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Load every not-yet-indexed timeline among the given employees with a single query for
+    // meetings and one for series, again for those a concurrent change may have made stale
+    public void preload(Collection<Long> employeeIds) {
+        Set<Long> cold = new HashSet<>();
+        for (Long id : employeeIds) {
+            if (!timelines.containsKey(id)) {
+                cold.add(id);
+            }
+        }
+        while (!cold.isEmpty()) {
+            cold = load(cold);
+        }
+    }
+
+    // Load and install the given timelines; returns the ones whose stamps moved during the load
+    private Set<Long> load(Set<Long> cold) {
+        Map<Long, Long> stamped = new HashMap<>();
+        for (Long id : cold) {
+            stamped.put(id, stamps.get(stripe(id)));
+        }
+        Map<Long, List<BusyInterval>> byEmployee = new HashMap<>();
+        for (Long id : cold) {
+            byEmployee.put(id, new ArrayList<>());
+        }
+        // Pending bookings are read first: one written to the database in between is then found
+        // by the query, and one found twice is added once
+        List<AttendeeBusyInterval> loaded = new ArrayList<>(pending.apply(cold));
+        Map<Long, List<Recurrence>> seriesByEmployee = new HashMap<>();
+        inLoadTransaction(() -> {
+            loaded.addAll(meetingRepository.findBusyIntervalsByEmployeeIds(cold));
+            seriesByEmployee.putAll(seriesByEmployee(cold));
+        });
+        for (AttendeeBusyInterval interval : loaded) {
+            byEmployee.get(interval.getEmployeeId()).add(interval);
+        }
+        Set<Long> stale = new HashSet<>();
+        byEmployee.forEach((id, intervals) -> {
+            Timeline timeline = new Timeline(intervals, seriesByEmployee.getOrDefault(id, List.of()));
+            // Installed first and checked after, so a change stamped after the check sees it
+            if (timelines.putIfAbsent(id, timeline) == null && stamps.get(stripe(id)) != stamped.get(id)) {
+                timelines.remove(id, timeline);
+                stale.add(id);
+            }
+        });
+        return stale;
+    }
+
+    private void inLoadTransaction(Runnable reads) {
+        if (loads == null) {
+            reads.run();
+        } else {
+            loads.executeWithoutResult(status -> reads.run());
+        }
+    }
+
+    // Series rules of the given employees, from one query
+    public Map<Long, List<Recurrence>> seriesByEmployee(Collection<Long> employeeIds) {
+        Map<Long, List<Recurrence>> byEmployee = new HashMap<>();
+        for (MeetingSeries series : seriesRepository.findByEmployeeIds(employeeIds)) {
+            Recurrence recurrence = Recurrence.of(series);
+            Set<Long> attendees = new HashSet<>();
+            attendees.add(series.getOwner().getId());
+            for (Employee participant : series.getParticipants()) {
+                attendees.add(participant.getId());
+            }
+            for (Long id : attendees) {
+                if (employeeIds.contains(id)) {
+                    byEmployee.computeIfAbsent(id, key -> new ArrayList<>()).add(recurrence);
+                }
+            }
+        }
+        return byEmployee;
+    }
+
+    // Meetings of every loaded timeline as flat [meetingId, start, end, ...] epoch-minute triples,
+    // for snapshots; series rules are left out and always read back from the database
+    public Map<Long, long[]> loadedMeetings() {
+        Map<Long, long[]> meetings = new HashMap<>();
+        timelines.forEach((id, timeline) -> meetings.put(id, timeline.meetingTriples()));
+        return meetings;
+    }
+
+    // Install timelines restored from a snapshot, with the series rules of the same employees
+    // from one query
+    public void restore(Map<Long, long[]> meetings) {
+        if (meetings.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Recurrence>> seriesByEmployee = seriesByEmployee(meetings.keySet());
+        meetings.forEach((id, triples) -> timelines.put(id,
+                new Timeline(triples, seriesByEmployee.getOrDefault(id, List.of()))));
+    }
+
+    public void setPendingSource(Function<Collection<Long>, List<AttendeeBusyInterval>> pending) {
+        this.pending = pending;
+    }
+
+    public void setChangeListener(Consumer<CalendarChange> changes) {
+        this.changes = changes;
+    }
+
+    // Drop cached timelines, forcing a reload from the repository on next access
+    public void invalidate(Long employeeId) {
+        timelines.remove(employeeId);
+        freeSlotCache.invalidate(employeeId);
+    }
+
+    public void clear() {
+        timelines.clear();
+        freeSlotCache.clear();
+    }
+
+    private void add(Meeting meeting) {
+        addToTimelines(meeting);
+        changes.accept(CalendarChange.booked(meeting));
+    }
+
+    private void addToTimelines(Meeting meeting) {
+        BusyInterval interval = new BusyInterval(meeting.getId(), meeting.getStartTime(), meeting.getEndTime());
+        addIfLoaded(meeting.getOwner(), interval);
+        if (meeting.getParticipants() != null) {
+            for (Employee participant : meeting.getParticipants()) {
+                addIfLoaded(participant, interval);
+            }
+        }
+    }
+
+    // Timelines that were never loaded will pick the meeting up from the database later. Cached
+    // free slots are dropped only after the timeline changed, so a recomputation sees the meeting.
+    private void addIfLoaded(Employee employee, BusyInterval interval) {
+        Timeline timeline = stampedTimeline(employee.getId());
+        if (timeline != null) {
+            timeline.add(interval);
+        }
+        freeSlotCache.invalidate(employee.getId(), EpochMinutes.floor(interval.getStartTime()),
+                EpochMinutes.ceil(interval.getEndTime()));
+    }
+
+    private void remove(Meeting meeting) {
+        long start = EpochMinutes.floor(meeting.getStartTime());
+        long end = EpochMinutes.ceil(meeting.getEndTime());
+        List<Employee> attendees = new ArrayList<>();
+        attendees.add(meeting.getOwner());
+        if (meeting.getParticipants() != null) {
+            attendees.addAll(meeting.getParticipants());
+        }
+        for (Employee attendee : attendees) {
+            Timeline timeline = stampedTimeline(attendee.getId());
+            if (timeline != null) {
+                timeline.remove(meeting.getId(), start, end);
+            }
+            freeSlotCache.invalidate(attendee.getId(), start, end);
+        }
+    }
+
+    private Timeline timeline(Long employeeId) {
+        Timeline timeline = timelines.get(employeeId);
+        while (timeline == null) {
+            preload(Collections.singleton(employeeId));
+            timeline = timelines.get(employeeId);
+        }
+        return timeline;
+    }
+
+    // Stamp the employee for a change about to be applied, then return their timeline if loaded
+    private Timeline stampedTimeline(Long employeeId) {
+        stamps.incrementAndGet(stripe(employeeId));
+        return timelines.get(employeeId);
+    }
+
+    private static int stripe(Long employeeId) {
+        return Long.hashCode(employeeId * 0x9E3779B97F4A7C15L) & (STAMP_STRIPES - 1);
+    }
+
+    // Timeline of epoch-minute intervals in a treap ordered by (start, meetingId, end), every node
+    // carrying the latest end in its subtree. Adding and removing a meeting are O(log n), and a
+    // query only descends into subtrees whose latest end reaches past its start: whether anything
+    // overlaps is O(log n) and listing k overlapping meetings O(k + log n), however long the
+    // longest meeting is or was. Series rules sit alongside and are expanded per query window.
+    static class Timeline {
+        private static final Recurrence[] NO_SERIES = new Recurrence[0];
+
+        private Node root;
+        private int size;
+        private Recurrence[] series = NO_SERIES;
+
+        Timeline(List<BusyInterval> initial, List<Recurrence> series) {
+            this(initial);
+            this.series = series.toArray(NO_SERIES);
+        }
+
+        Timeline(List<BusyInterval> initial) {
+            for (BusyInterval interval : initial) {
+                add(interval);
+            }
+        }
+
+        private Timeline(long[] triples, List<Recurrence> series) {
+            for (int i = 0; i < triples.length; i += 3) {
+                add(triples[i], triples[i + 1], triples[i + 2]);
+            }
+            this.series = series.toArray(NO_SERIES);
+        }
+
+        synchronized void add(BusyInterval interval) {
+            add(interval.getMeetingId(), EpochMinutes.floor(interval.getStartTime()),
+                    EpochMinutes.ceil(interval.getEndTime()));
+        }
+
+        // Adding a meeting that is already there is a no-op, so a replayed booking is harmless
+        private synchronized void add(long meetingId, long start, long end) {
+            if (!contains(meetingId, start, end)) {
+                root = insert(root, new Node(meetingId, start, end));
+                size++;
+            }
+        }
+
+        // Removing a meeting that is not there is a no-op, so a replayed cancellation is harmless.
+        // The latest ends are recomputed on the way back up.
+        synchronized void remove(long meetingId, long start, long end) {
+            if (contains(meetingId, start, end)) {
+                root = delete(root, meetingId, start, end);
+                size--;
+            }
+        }
+
+        synchronized long[] meetingTriples() {
+            List<Node> nodes = new ArrayList<>(size);
+            collect(root, Long.MIN_VALUE, Long.MAX_VALUE, nodes);
+            long[] triples = new long[nodes.size() * 3];
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                triples[3 * i] = node.meetingId;
+                triples[3 * i + 1] = node.start;
+                triples[3 * i + 2] = node.end;
+            }
+            return triples;
+        }
+
+        synchronized void addSeries(Recurrence recurrence) {
+            series = Arrays.copyOf(series, series.length + 1);
+            series[series.length - 1] = recurrence;
+        }
+
+        // Walks one path: a left subtree whose latest end passes start either holds an overlap, or
+        // holds a meeting starting at or after end, and then nothing to its right can overlap
+        synchronized boolean hasOverlap(long start, long end) {
+            Node node = root;
+            while (node != null) {
+                if (node.start < end && node.end > start) {
+                    return true;
+                }
+                if (node.left != null && node.left.maxEnd > start) {
+                    node = node.left;
+                } else if (node.start < end) {
+                    node = node.right;
+                } else {
+                    break;
+                }
+            }
+            for (Recurrence recurrence : series) {
+                if (recurrence.hasOverlap(start, end)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Busy time overlapping [start, end) as a flat [start0, end0, start1, end1, ...] array
+        // sorted by start, with series occurrences merged into the meetings
+        synchronized long[] overlapping(long start, long end) {
+            long[] meetings = meetingsOverlapping(start, end);
+            if (series.length == 0) {
+                return meetings;
+            }
+            long[][] calendars = new long[series.length + 1][];
+            calendars[0] = meetings;
+            for (int i = 0; i < series.length; i++) {
+                calendars[i + 1] = series[i].occurrences(start, end);
+            }
+            return FreeSlotCalculator.mergeBusyTimes(calendars);
+        }
+
+        private long[] meetingsOverlapping(long start, long end) {
+            List<Node> nodes = new ArrayList<>();
+            collect(root, start, end, nodes);
+            long[] result = new long[nodes.size() * 2];
+            for (int i = 0; i < nodes.size(); i++) {
+                result[2 * i] = nodes.get(i).start;
+                result[2 * i + 1] = nodes.get(i).end;
+            }
+            return result;
+        }
+
+        private boolean contains(long meetingId, long start, long end) {
+            Node node = root;
+            while (node != null) {
+                int order = node.compareTo(meetingId, start, end);
+                if (order == 0) {
+                    return true;
+                }
+                node = order > 0 ? node.left : node.right;
+            }
+            return false;
+        }
+
+        // In-order walk of the meetings overlapping [start, end), skipping subtrees that end
+        // before start and stopping at the first meeting that starts at or after end
+        private static void collect(Node node, long start, long end, List<Node> out) {
+            if (node == null || node.maxEnd <= start) {
+                return;
+            }
+            collect(node.left, start, end, out);
+            if (node.start >= end) {
+                return;
+            }
+            if (node.end > start) {
+                out.add(node);
+            }
+            collect(node.right, start, end, out);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (node.compareTo(added.meetingId, added.start, added.end) > 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            return node.update();
+        }
+
+        private static Node delete(Node node, long meetingId, long start, long end) {
+            int order = node.compareTo(meetingId, start, end);
+            if (order == 0) {
+                return merge(node.left, node.right);
+            }
+            if (order > 0) {
+                node.left = delete(node.left, meetingId, start, end);
+            } else {
+                node.right = delete(node.right, meetingId, start, end);
+            }
+            return node.update();
+        }
+
+        // Join two treaps where every node of the first orders before every node of the second
+        private static Node merge(Node first, Node second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null) {
+                return first;
+            }
+            if (first.priority > second.priority) {
+                first.right = merge(first.right, second);
+                return first.update();
+            }
+            second.left = merge(first, second.left);
+            return second.update();
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node.update();
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node.update();
+            return right;
+        }
+    }
+
+    private static final class Node {
+        final long meetingId;
+        final long start;
+        final long end;
+        // Heap order of the treap, derived from the meeting so rebuilding a timeline gives the same shape
+        final long priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long meetingId, long start, long end) {
+            this.meetingId = meetingId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            long mixed = (meetingId ^ start * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+            this.priority = mixed ^ (mixed >>> 31);
+        }
+
+        int compareTo(long meetingId, long start, long end) {
+            if (this.start != start) {
+                return Long.compare(this.start, start);
+            }
+            if (this.meetingId != meetingId) {
+                return Long.compare(this.meetingId, meetingId);
+            }
+            return Long.compare(this.end, end);
+        }
+
+        Node update() {
+            long latest = end;
+            if (left != null) {
+                latest = Math.max(latest, left.maxEnd);
+            }
+            if (right != null) {
+                latest = Math.max(latest, right.maxEnd);
+            }
+            maxEnd = latest;
+            return this;
+        }
+    }
+}
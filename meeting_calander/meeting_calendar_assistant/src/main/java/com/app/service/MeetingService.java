@@ -1,20 +1,63 @@
 package com.app.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.app.config.AsyncConfig;
 import com.app.custom_exceptions.ConflictException;
 import com.app.custom_exceptions.NotFoundException;
+import com.app.datasource.ReadYourWrites;
+import com.app.dto.AttendeeBusyInterval;
+import com.app.dto.AvailabilityHeatmap;
+import com.app.dto.BatchBookingResult;
+import com.app.dto.BusyInterval;
+import com.app.dto.CalendarPage;
+import com.app.dto.FreeSlots;
+import com.app.dto.MeetingRequest;
+import com.app.dto.MeetingSuggestion;
+import com.app.dto.MeetingSummary;
 import com.app.entities.Employee;
 import com.app.entities.Meeting;
+import com.app.entities.MeetingSeries;
+import com.app.journal.BookingJournal;
+import com.app.metrics.MeetingMetrics;
 import com.app.repository.EmployeeRepository;
 import com.app.repository.MeetingRepository;
+import com.app.repository.MeetingSeriesRepository;
 
 @Service
 @Transactional
@@ -26,143 +69,973 @@ public class MeetingService {
     @Autowired
     private MeetingRepository meetingRepository;
 
+    @Autowired
+    private MeetingSeriesRepository seriesRepository;
+
+    @Autowired
+    private MeetingCalendarIndex calendarIndex;
+
+    @Autowired
+    private FreeSlotCache freeSlotCache;
+
+    @Autowired
+    private EmployeeLocks employeeLocks;
+
+    @Autowired
+    private MeetingMetrics metrics;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    @Qualifier(AsyncConfig.HEATMAP_POOL)
+    private ForkJoinPool heatmapPool;
+
+    // Present only in event-sourced mode (meeting.journal.enabled)
+    @Autowired(required = false)
+    private BookingJournal journal;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int MAX_CALENDAR_PAGE_SIZE = 500;
+
+    private static final int MAX_SUGGESTIONS = 100;
+
+    private static final int MAX_HEATMAP_BUCKETS = 50_000;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize = 50;
+
+    @Value("${meeting.conflict-index.enabled:true}")
+    private boolean conflictIndexEnabled = true;
+
+    @Value("${meeting.free-slot-cache.enabled:true}")
+    private boolean freeSlotCacheEnabled = true;
+
+    @Value("${meeting.series.conflict-horizon-days:365}")
+    private int seriesConflictHorizonDays = 365;
+
+    @Value("${meeting.free-slots.stream-chunk-days:7}")
+    private int streamChunkDays = 7;
+
+    // "intervals" merges busy interval lists; "bitset" ORs cached per-employee day bitsets
+    @Value("${meeting.free-slots.engine:intervals}")
+    private String freeSlotEngine = "intervals";
+
+    @Value("${meeting.free-slots.bitset-quantum-minutes:1}")
+    private int bitsetQuantumMinutes = 1;
+
     // Method to book a new meeting for an employee
     public Meeting bookMeeting(Employee owner, LocalDateTime start, LocalDateTime end, List<Employee> participants) {
-        // Validate owner existence
+        return metrics.time("meeting.booking", 1 + participants.size(), () -> {
+            // Validate owner existence
+            if (!employeeRepository.findById(owner.getId()).isPresent()) {
+                throw new NotFoundException("Owner not found");
+            }
+
+            List<Employee> attendees = new ArrayList<>();
+            attendees.add(owner);
+            attendees.addAll(participants);
+
+            // Hold the attendees' locks until commit so a concurrent booking sharing any of them
+            // cannot pass the conflict check before this meeting is visible
+            try (EmployeeLocks.Held held = employeeLocks.lockUntilCompletion(idsOf(attendees))) {
+                // Check the owner and every participant at once so all conflicts are reported together
+                List<Employee> conflicting = findConflictingAttendees(attendees, start, end);
+                if (!conflicting.isEmpty()) {
+                    throw conflictFor(owner, conflicting);
+                }
+
+                // In journal mode the appended event is the commit and the sink writes the row later
+                if (journal != null) {
+                    Meeting meeting = new Meeting(start, end, owner, participants);
+                    meeting.setId(journal.nextMeetingId());
+                    journal.book(meeting);
+                    return meeting;
+                }
+
+                // Create and save new meeting
+                Meeting meeting = meetingRepository.save(new Meeting(start, end, owner, participants));
+                calendarIndex.recordBooking(meeting);
+                readYourWrites.recordWrite(idsOf(attendees));
+                return meeting;
+            }
+        });
+    }
+
+    // Method to learn when a booked meeting's row is in the database. Outside journal mode the
+    // booking itself committed it; in journal mode it is the sink's next group commit, and the
+    // result is false when that does not happen within the sink's await timeout.
+    public CompletableFuture<Boolean> whenPersisted(Meeting meeting) {
+        if (journal == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return journal.whenPersisted(meeting.getId());
+    }
+
+    // Method to book a recurring series. Occurrences are checked against every attendee's calendar
+    // up to the series' last day, or for a bounded horizon when it repeats forever, and the series
+    // is stored as one row.
+    public MeetingSeries bookSeries(Employee owner, LocalDateTime start, LocalDateTime end,
+            List<Employee> participants, MeetingSeries.Frequency frequency, int interval, LocalDate until,
+            Set<LocalDate> exceptions) {
         if (!employeeRepository.findById(owner.getId()).isPresent()) {
             throw new NotFoundException("Owner not found");
         }
+        if (frequency == null || interval < 1) {
+            throw new IllegalArgumentException("A series needs a frequency and an interval of at least one");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Meeting must end after it starts");
+        }
+
+        Set<LocalDate> skipped = exceptions == null ? new HashSet<>() : new HashSet<>(exceptions);
+        MeetingSeries series = new MeetingSeries(start, Duration.between(start, end).toMinutes(), frequency,
+                interval, until, owner, participants, skipped);
+        Recurrence recurrence = Recurrence.of(series);
+        long from = EpochMinutes.floor(start);
+        long horizon = Math.min(recurrence.lastMinute(),
+                from + seriesConflictHorizonDays * EpochMinutes.MINUTES_PER_DAY);
+
+        List<Employee> attendees = new ArrayList<>();
+        attendees.add(owner);
+        attendees.addAll(participants);
+        try (EmployeeLocks.Held held = employeeLocks.lockUntilCompletion(idsOf(attendees))) {
+            calendarIndex.preload(idsOf(attendees));
+            long[] occurrences = recurrence.occurrences(from, horizon);
+            Map<Long, Employee> conflicting = new LinkedHashMap<>();
+            for (Employee attendee : attendees) {
+                for (int i = 0; i < occurrences.length && !conflicting.containsKey(attendee.getId()); i += 2) {
+                    if (calendarIndex.hasOverlap(attendee.getId(), occurrences[i], occurrences[i + 1])) {
+                        conflicting.put(attendee.getId(), attendee);
+                    }
+                }
+            }
+            if (!conflicting.isEmpty()) {
+                throw conflictFor(owner, new ArrayList<>(conflicting.values()));
+            }
+
+            series = seriesRepository.save(series);
+            calendarIndex.recordSeries(series);
+            readYourWrites.recordWrite(idsOf(attendees));
+            return series;
+        }
+    }
+
+    // Method to book many meetings at once. Names are resolved with one query, conflicts are
+    // checked in memory against the index and against meetings accepted earlier in the same
+    // batch, and accepted meetings are written with JDBC batch inserts.
+    public List<BatchBookingResult> bookMeetings(List<MeetingRequest> requests) {
+        Set<String> names = new HashSet<>();
+        for (MeetingRequest request : requests) {
+            names.add(request.getOwnerName());
+            if (request.getParticipants() != null) {
+                names.addAll(request.getParticipants());
+            }
+        }
+        Map<String, Employee> byName = new HashMap<>();
+        for (Employee employee : employeeRepository.findByNameIn(new ArrayList<>(names))) {
+            byName.put(employee.getName(), employee);
+        }
+        Set<Long> ids = idsOf(byName.values());
+        // Bookings sharing any of these attendees wait until this batch is committed and indexed
+        try (EmployeeLocks.Held held = employeeLocks.lockUntilCompletion(ids)) {
+            calendarIndex.preload(ids);
+
+            // Meetings accepted so far in this batch, per attendee
+            Map<Long, MeetingCalendarIndex.Timeline> accepted = new HashMap<>();
+            List<BatchBookingResult> results = new ArrayList<>(requests.size());
+            List<Meeting> meetings = new ArrayList<>();
+            List<BatchBookingResult> acceptedResults = new ArrayList<>();
+
+            for (int i = 0; i < requests.size(); i++) {
+                MeetingRequest request = requests.get(i);
+                LocalDateTime start = request.getStartTime();
+                LocalDateTime end = request.getEndTime();
+                if (start == null || end == null || !start.isBefore(end)) {
+                    results.add(BatchBookingResult.rejected(i, "Meeting must end after it starts"));
+                    continue;
+                }
+
+                Employee owner = byName.get(request.getOwnerName());
+                if (owner == null) {
+                    results.add(BatchBookingResult.rejected(i, "Owner not found"));
+                    continue;
+                }
+                List<Employee> participants = new ArrayList<>();
+                String missing = null;
+                for (String name : request.getParticipants() == null ? List.<String>of() : request.getParticipants()) {
+                    Employee participant = byName.get(name);
+                    if (participant == null) {
+                        missing = name;
+                        break;
+                    }
+                    participants.add(participant);
+                }
+                if (missing != null) {
+                    results.add(BatchBookingResult.rejected(i, "Participant " + missing + " not found"));
+                    continue;
+                }
+
+                List<Employee> attendees = new ArrayList<>();
+                attendees.add(owner);
+                attendees.addAll(participants);
+                List<Employee> conflicting = findConflictingAttendees(attendees, start, end);
+                long startMinute = EpochMinutes.floor(start);
+                long endMinute = EpochMinutes.ceil(end);
+                for (Employee attendee : attendees) {
+                    MeetingCalendarIndex.Timeline timeline = accepted.get(attendee.getId());
+                    if (timeline != null && timeline.hasOverlap(startMinute, endMinute) && !conflicting.contains(attendee)) {
+                        conflicting.add(attendee);
+                    }
+                }
+                if (!conflicting.isEmpty()) {
+                    results.add(BatchBookingResult.rejected(i, conflictFor(owner, conflicting).getMessage()));
+                    continue;
+                }
+
+                BusyInterval interval = new BusyInterval((long) i, start, end);
+                for (Employee attendee : attendees) {
+                    accepted.computeIfAbsent(attendee.getId(), id -> new MeetingCalendarIndex.Timeline(List.of()))
+                            .add(interval);
+                }
+                BatchBookingResult result = new BatchBookingResult(i, BatchBookingResult.Status.ACCEPTED, null, null);
+                results.add(result);
+                acceptedResults.add(result);
+                meetings.add(new Meeting(start, end, owner, participants));
+            }
+
+            // Flush and clear every JDBC batch so the persistence context stays small
+            for (int i = 0; i < meetings.size(); i++) {
+                Meeting meeting = meetings.get(i);
+                entityManager.persist(meeting);
+                acceptedResults.get(i).setMeetingId(meeting.getId());
+                if ((i + 1) % jdbcBatchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            calendarIndex.recordBookings(meetings);
+            if (journal != null) {
+                journal.recordPersisted(meetings);
+            }
+            Set<Long> written = new HashSet<>();
+            for (Meeting meeting : meetings) {
+                written.add(meeting.getOwner().getId());
+                written.addAll(idsOf(meeting.getParticipants()));
+            }
+            readYourWrites.recordWrite(written);
+            return results;
+        }
+    }
+
+    // Method to cancel a meeting. Its attendees' timelines, cached free slots and change feed are
+    // updated once the deletion commits.
+    public void cancelMeeting(Long id) {
+        Meeting meeting = findMeetingForUpdate(id);
+        metrics.time("meeting.cancel", attendeesOf(meeting).size(), () -> {
+            try (EmployeeLocks.Held held = lockAttendees(meeting, List.of())) {
+                Meeting before = copyOf(meeting);
+                meetingRepository.delete(meeting);
+                recordUpdate(before, null);
+                return before;
+            }
+        });
+    }
 
-        // Check for conflict in owner's schedule
-        if (hasConflicts(owner, start, end)) {
-            throw new ConflictException("Meeting time conflicts with an existing meeting for the owner");
+    // Method to move a meeting to [start, end). Its attendees already hold the old time, so they
+    // are checked only over the part of the new time outside it: a meeting extended by a quarter
+    // of an hour is checked for that quarter of an hour.
+    public Meeting rescheduleMeeting(Long id, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("Meeting must end after it starts");
         }
+        return updateMeeting(id, start, end, List.of(), List.of());
+    }
+
+    // Method to add and remove participants. Only the added ones are checked, over the meeting's
+    // time; the owner cannot be removed and adding a current attendee changes nothing.
+    public Meeting changeParticipants(Long id, List<Employee> added, List<Employee> removed) {
+        return updateMeeting(id, null, null, added, removed);
+    }
+
+    private Meeting updateMeeting(Long id, LocalDateTime newStart, LocalDateTime newEnd, List<Employee> added,
+            List<Employee> removed) {
+        Meeting meeting = findMeetingForUpdate(id);
+        return metrics.time("meeting.update", attendeesOf(meeting).size() + added.size(), () -> {
+            try (EmployeeLocks.Held held = lockAttendees(meeting, added)) {
+                Meeting before = copyOf(meeting);
+                LocalDateTime start = newStart == null ? before.getStartTime() : newStart;
+                LocalDateTime end = newEnd == null ? before.getEndTime() : newEnd;
+
+                Set<Long> removedIds = idsOf(removed);
+                removedIds.remove(meeting.getOwner().getId());
+                List<Employee> staying = new ArrayList<>();
+                staying.add(meeting.getOwner());
+                for (Employee participant : meeting.getParticipants()) {
+                    if (!removedIds.contains(participant.getId())) {
+                        staying.add(participant);
+                    }
+                }
+                Set<Long> attending = idsOf(staying);
+                List<Employee> joining = new ArrayList<>();
+                for (Employee employee : added) {
+                    if (attending.add(employee.getId())) {
+                        joining.add(employee);
+                    }
+                }
+
+                Map<Long, Employee> conflicting = new LinkedHashMap<>();
+                if (start.isBefore(before.getStartTime())) {
+                    LocalDateTime until = end.isBefore(before.getStartTime()) ? end : before.getStartTime();
+                    findConflictingAttendees(staying, start, until).forEach(e -> conflicting.putIfAbsent(e.getId(), e));
+                }
+                if (end.isAfter(before.getEndTime())) {
+                    LocalDateTime from = start.isAfter(before.getEndTime()) ? start : before.getEndTime();
+                    findConflictingAttendees(staying, from, end).forEach(e -> conflicting.putIfAbsent(e.getId(), e));
+                }
+                if (!joining.isEmpty()) {
+                    findConflictingAttendees(joining, start, end).forEach(e -> conflicting.putIfAbsent(e.getId(), e));
+                }
+                if (!conflicting.isEmpty()) {
+                    throw conflictFor(meeting.getOwner(), new ArrayList<>(conflicting.values()));
+                }
 
-        // Check conflicts for each participant
-        for (Employee participant : participants) {
-            if (hasConflicts(participant, start, end)) {
-                throw new ConflictException("Participant " + participant.getName() + " has a meeting conflict");
+                List<Employee> participants = new ArrayList<>(staying.subList(1, staying.size()));
+                participants.addAll(joining);
+                meeting.setStartTime(start);
+                meeting.setEndTime(end);
+                meeting.setParticipants(participants);
+                recordUpdate(before, copyOf(meeting));
+                return meeting;
             }
+        });
+    }
+
+    // Method to load a meeting about to be edited; in journal mode the sink has to write it first.
+    // The meeting row is locked before the first read, so the attendees read next are the committed
+    // ones even under REPEATABLE READ.
+    private Meeting findMeetingForUpdate(Long id) {
+        if (journal != null) {
+            journal.awaitPersisted(id);
+        }
+        meetingRepository.findForUpdateById(id)
+                .orElseThrow(() -> new NotFoundException("Meeting not found with id: " + id));
+        return findMeeting(id);
+    }
+
+    // Lock the meeting's attendees and the ones joining it until commit. The meeting row lock
+    // already keeps other edits of it out, so its attendees cannot change under these locks.
+    private EmployeeLocks.Held lockAttendees(Meeting meeting, List<Employee> joining) {
+        Set<Long> ids = idsOf(attendeesOf(meeting));
+        ids.addAll(idsOf(joining));
+        return employeeLocks.lockUntilCompletion(ids);
+    }
+
+    // Keep every structure derived from the meeting in step once the edit commits
+    private void recordUpdate(Meeting before, Meeting after) {
+        calendarIndex.recordUpdate(before, after);
+        if (journal != null) {
+            journal.recordUpdate(before, after);
+        }
+        Set<Long> written = idsOf(attendeesOf(before));
+        if (after != null) {
+            written.addAll(idsOf(attendeesOf(after)));
+        }
+        readYourWrites.recordWrite(written);
+    }
+
+    // Helper method to list the owner followed by the participants
+    private static List<Employee> attendeesOf(Meeting meeting) {
+        List<Employee> attendees = new ArrayList<>();
+        attendees.add(meeting.getOwner());
+        if (meeting.getParticipants() != null) {
+            attendees.addAll(meeting.getParticipants());
+        }
+        return attendees;
+    }
+
+    // Helper method to snapshot a meeting's time and attendees before the entity is changed
+    private static Meeting copyOf(Meeting meeting) {
+        Meeting copy = new Meeting(meeting.getStartTime(), meeting.getEndTime(), meeting.getOwner(),
+                meeting.getParticipants() == null ? List.of() : new ArrayList<>(meeting.getParticipants()));
+        copy.setId(meeting.getId());
+        return copy;
+    }
+
+    // Helper method to collect the distinct ids of the given employees
+    private static Set<Long> idsOf(Collection<Employee> employees) {
+        Set<Long> ids = new HashSet<>();
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
         }
+        return ids;
+    }
+
+    // Method to read a meeting with its owner and participants fetched in one query. Stays on the
+    // primary: it is a key lookup, typically right after the booking that created the meeting.
+    // A journaled booking the sink has not written yet is read from the journal; the sink drops
+    // it there only after its row commits, so the second lookup finds one written in between.
+    public Meeting findMeeting(Long id) {
+        Optional<Meeting> meeting = meetingRepository.findWithAttendeesById(id);
+        if (meeting.isEmpty() && journal != null) {
+            meeting = journal.findUnsunk(id).map(this::withAttendees)
+                    .or(() -> meetingRepository.findWithAttendeesById(id));
+        }
+        return meeting.orElseThrow(() -> new NotFoundException("Meeting not found with id: " + id));
+    }
 
-        // Create and save new meeting
-        Meeting meeting = new Meeting(start, end, owner, participants);
-        return meetingRepository.save(meeting);
+    // Helper method to load the attendees of a journaled meeting, which carries only their ids
+    private Meeting withAttendees(Meeting journaled) {
+        Map<Long, Employee> byId = new HashMap<>();
+        employeeRepository.findAllById(idsOf(attendeesOf(journaled))).forEach(e -> byId.put(e.getId(), e));
+        List<Employee> participants = new ArrayList<>();
+        for (Employee participant : journaled.getParticipants()) {
+            participants.add(byId.getOrDefault(participant.getId(), participant));
+        }
+        Meeting meeting = new Meeting(journaled.getStartTime(), journaled.getEndTime(),
+                byId.getOrDefault(journaled.getOwner().getId(), journaled.getOwner()), participants);
+        meeting.setId(journaled.getId());
+        return meeting;
     }
 
-    // Method to check conflicts for a given employee
+    // Method to check conflicts for a given employee, owned or participated meetings alike
     private boolean hasConflicts(Employee employee, LocalDateTime start, LocalDateTime end) {
-        List<Meeting> conflictingMeetings = meetingRepository.findAllByOwnerAndStartTimeBetween(employee, start, end);
-        return !conflictingMeetings.isEmpty();
+        return calendarIndex.hasOverlap(employee, start, end);
     }
 
-    // Method to find free time slots between two employees
-    public List<LocalDateTime> findFreeSlots(Employee emp1, Employee emp2, Duration duration, LocalDateTime from, LocalDateTime to) {
-        List<Meeting> emp1Meetings = meetingRepository.findAllByOwnerAndStartTimeBetween(emp1, from, to);
-        List<Meeting> emp2Meetings = meetingRepository.findAllByOwnerAndStartTimeBetween(emp2, from, to);
+    // Method to find every attendee with a meeting overlapping [start, end), in attendee order.
+    // Cold calendars are loaded into the index in one batch; with the index disabled a single
+    // batched overlap query is used instead.
+    private List<Employee> findConflictingAttendees(List<Employee> attendees, LocalDateTime start, LocalDateTime end) {
+        return metrics.time("meeting.conflicts.check", attendees.size(), () -> {
+            Map<Long, Employee> byId = new LinkedHashMap<>();
+            for (Employee attendee : attendees) {
+                byId.putIfAbsent(attendee.getId(), attendee);
+            }
+
+            List<Employee> conflicting = new ArrayList<>();
+            // Journaled bookings may not be in the database yet, so journal mode always uses the index
+            if (conflictIndexEnabled || journal != null) {
+                calendarIndex.preload(byId.keySet());
+                for (Employee attendee : byId.values()) {
+                    if (hasConflicts(attendee, start, end)) {
+                        conflicting.add(attendee);
+                    }
+                }
+            } else if (!byId.isEmpty()) {
+                Set<Long> busyIds = new HashSet<>();
+                int[] days = dayRange(start, end);
+                for (AttendeeBusyInterval interval : meetingRepository.findOverlappingByEmployeeIds(byId.keySet(), start,
+                        end, days[0], days[1])) {
+                    busyIds.add(interval.getEmployeeId());
+                }
+                long startMinute = EpochMinutes.floor(start);
+                long endMinute = EpochMinutes.ceil(end);
+                calendarIndex.seriesByEmployee(byId.keySet()).forEach((id, series) -> {
+                    for (Recurrence recurrence : series) {
+                        if (recurrence.hasOverlap(startMinute, endMinute)) {
+                            busyIds.add(id);
+                        }
+                    }
+                });
+                for (Employee attendee : byId.values()) {
+                    if (busyIds.contains(attendee.getId())) {
+                        conflicting.add(attendee);
+                    }
+                }
+            }
+            return conflicting;
+        }, conflicting -> conflicting.isEmpty() ? MeetingMetrics.OK : MeetingMetrics.CONFLICT);
+    }
 
-        return findCommonFreeSlots(emp1Meetings, emp2Meetings, duration, from, to);
+    // Helper method to find the epoch days [start, end) touches; the overlap query widens the
+    // first one by the longest meeting span itself
+    private static int[] dayRange(LocalDateTime start, LocalDateTime end) {
+        return new int[] { (int) start.toLocalDate().toEpochDay(), (int) end.toLocalDate().toEpochDay() };
     }
 
-    // Helper method to find common free slots between two sets of meetings
-    private List<LocalDateTime> findCommonFreeSlots(List<Meeting> meetings1, List<Meeting> meetings2, Duration duration, LocalDateTime from, LocalDateTime to) {
-        List<LocalDateTime> busyTimes = new ArrayList<>();
+    // Helper method to reject a working-hours window with only one end, or one that is empty
+    private static void checkWorkingHours(LocalTime workStart, LocalTime workEnd) {
+        if ((workStart == null) != (workEnd == null) || (workStart != null && !workStart.isBefore(workEnd))) {
+            throw new IllegalArgumentException("Working hours need a start before their end");
+        }
+    }
 
-        // Collect busy times for first employee
-        for (Meeting meeting : meetings1) {
-            busyTimes.add(meeting.getStartTime());
-            busyTimes.add(meeting.getEndTime());
+    // Helper method to describe all conflicting attendees in one exception
+    private ConflictException conflictFor(Employee owner, List<Employee> conflicting) {
+        List<String> names = new ArrayList<>();
+        boolean ownerConflicts = false;
+        for (Employee attendee : conflicting) {
+            names.add(attendee.getName());
+            if (attendee.getId().equals(owner.getId())) {
+                ownerConflicts = true;
+            }
         }
 
-        // Collect busy times for second employee
-        for (Meeting meeting : meetings2) {
-            busyTimes.add(meeting.getStartTime());
-            busyTimes.add(meeting.getEndTime());
+        List<String> participantNames = new ArrayList<>(names);
+        if (ownerConflicts) {
+            participantNames.remove(owner.getName());
         }
 
-        // Sort and merge overlapping intervals
-        busyTimes.sort(LocalDateTime::compareTo);
-        List<LocalDateTime> mergedBusyTimes = mergeBusyTimes(busyTimes);
+        String message;
+        if (participantNames.isEmpty()) {
+            message = "Meeting time conflicts with an existing meeting for the owner";
+        } else if (ownerConflicts) {
+            message = "Meeting time conflicts with an existing meeting for the owner and participants "
+                    + String.join(", ", participantNames);
+        } else if (participantNames.size() == 1) {
+            message = "Participant " + participantNames.get(0) + " has a meeting conflict";
+        } else {
+            message = "Participants " + String.join(", ", participantNames) + " have a meeting conflict";
+        }
+        return new ConflictException(message, names);
+    }
 
-        // Find free slots
-        return findFreeTimeSlots(mergedBusyTimes, duration, from, to);
+    // Method to find free time slots between two employees
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> findFreeSlots(Employee emp1, Employee emp2, Duration duration, LocalDateTime from, LocalDateTime to) {
+        return findFreeSlots(List.of(emp1, emp2), duration, duration, from, to, null, null);
     }
 
-    // Helper method to merge overlapping busy times
-    private List<LocalDateTime> mergeBusyTimes(List<LocalDateTime> busyTimes) {
-        List<LocalDateTime> mergedBusyTimes = new ArrayList<>();
-        LocalDateTime start = null;
-        LocalDateTime end = null;
+    // Method to find slots of the given duration where every employee is free, stepping by `step`
+    // inside each free window. Working hours are optional; when both are set, slots are confined to
+    // [workStart, workEnd) on every day of the range. Results are served from FreeSlotCache until
+    // a booking touches one of the employees inside the range.
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> findFreeSlots(List<Employee> employees, Duration duration, Duration step,
+            LocalDateTime from, LocalDateTime to, LocalTime workStart, LocalTime workEnd) {
+        if (duration.toMinutes() <= 0 || step.toMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration and step must be at least one minute");
+        }
+        checkWorkingHours(workStart, workEnd);
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        readYourWrites.routeReads(ids);
+
+        long fromMinute = EpochMinutes.floor(from);
+        long toMinute = EpochMinutes.floor(to);
+        int workStartMinute = workStart == null ? FreeSlotCalculator.ANY_TIME : workStart.toSecondOfDay() / 60;
+        int workEndMinute = workEnd == null ? FreeSlotCalculator.ANY_TIME : workEnd.toSecondOfDay() / 60;
+        Supplier<long[]> compute = () -> {
+            calendarIndex.preload(ids);
+            if ("bitset".equalsIgnoreCase(freeSlotEngine)) {
+                return findCommonFreeSlotsInBitsets(employees, duration.toMinutes(), step.toMinutes(), fromMinute,
+                        toMinute, workStartMinute, workEndMinute);
+            }
 
-        for (LocalDateTime time : busyTimes) {
-            if (start == null) {
-                start = time;
-                end = time;
-            } else if (time.isBefore(end) || time.equals(end)) {
-                end = time.isAfter(end) ? time : end;
-            } else {
-                mergedBusyTimes.add(start);
-                mergedBusyTimes.add(end);
-                start = time;
-                end = time;
+            // Each calendar comes back from the index already sorted by start time
+            long[][] calendars = new long[employees.size()][];
+            for (int i = 0; i < calendars.length; i++) {
+                calendars[i] = calendarIndex.busyMinutes(employees.get(i), fromMinute, toMinute);
             }
+            return findCommonFreeSlots(calendars, duration.toMinutes(), step.toMinutes(), fromMinute, toMinute,
+                    workStartMinute, workEndMinute);
+        };
+        long[] slots = metrics.time("meeting.slots.search", ids.size(), () -> freeSlotCacheEnabled
+                ? freeSlotCache.get(new FreeSlotCache.Key(ids, fromMinute, toMinute, duration.toMinutes(),
+                        step.toMinutes(), workStartMinute, workEndMinute), compute)
+                : compute.get());
+
+        // Converted to LocalDateTime only at the API edge, and not at all by the compact wire formats
+        return new FreeSlots(slots);
+    }
+
+    // Method to stream free slots over a long range. Busy time is read from the calendar index
+    // and merged one chunk of days at a time, and slots are generated only as the stream is
+    // consumed, so a limited stream stops without looking at the rest of the range.
+    @Transactional(readOnly = true)
+    public Stream<LocalDateTime> streamFreeSlots(List<Employee> employees, Duration duration, Duration step,
+            LocalDateTime from, LocalDateTime to, LocalTime workStart, LocalTime workEnd) {
+        if (duration.toMinutes() <= 0 || step.toMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration and step must be at least one minute");
+        }
+        checkWorkingHours(workStart, workEnd);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Range must start before it ends");
+        }
+
+        // Cold timelines are loaded here, inside the transaction; the stream itself only reads memory
+        readYourWrites.routeReads(idsOf(employees));
+        calendarIndex.preload(idsOf(employees));
+        FreeSlotIterator slots = new FreeSlotIterator(mergedBusy(employees), EpochMinutes.floor(from),
+                EpochMinutes.floor(to), streamChunkDays * EpochMinutes.MINUTES_PER_DAY, duration.toMinutes(), step.toMinutes(),
+                workStart == null ? FreeSlotCalculator.ANY_TIME : workStart.toSecondOfDay() / 60,
+                workEnd == null ? FreeSlotCalculator.ANY_TIME : workEnd.toSecondOfDay() / 60);
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(slots, Spliterator.ORDERED), false)
+                .mapToObj(EpochMinutes::toDateTime);
+    }
+
+    // Method to suggest the `limit` best times in [from, to) for a meeting every required attendee
+    // is free for. Candidates step through the common free time of the required attendees and are
+    // scored by the share of optional attendees who are free too, by closeness to the preferred
+    // hours and by how little free time they fragment; only the best `limit` are kept while the
+    // window is scanned, so memory does not grow with the window.
+    @Transactional(readOnly = true)
+    public List<MeetingSuggestion> suggestMeetingTimes(List<Employee> required, List<Employee> optional,
+            Duration duration, Duration step, LocalDateTime from, LocalDateTime to, LocalTime preferredStart,
+            LocalTime preferredEnd, int limit) {
+        if (required.isEmpty()) {
+            throw new IllegalArgumentException("At least one required attendee is needed");
+        }
+        if (duration.toMinutes() <= 0 || step.toMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration and step must be at least one minute");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Range must start before it ends");
+        }
+        if ((preferredStart == null) != (preferredEnd == null)
+                || (preferredStart != null && !preferredStart.isBefore(preferredEnd))) {
+            throw new IllegalArgumentException("Preferred hours need a start before their end");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
         }
 
-        if (start != null && end != null) {
-            mergedBusyTimes.add(start);
-            mergedBusyTimes.add(end);
+        // Someone listed as both required and optional counts as required
+        Set<Long> ids = new LinkedHashSet<>(idsOf(required));
+        List<Employee> optionalOnly = new ArrayList<>();
+        for (Employee employee : optional) {
+            if (ids.add(employee.getId())) {
+                optionalOnly.add(employee);
+            }
         }
 
-        return mergedBusyTimes;
+        readYourWrites.routeReads(ids);
+        return metrics.time("meeting.slots.suggest", ids.size(), () -> {
+            calendarIndex.preload(ids);
+            long minutes = duration.toMinutes();
+            int preferredFrom = preferredStart == null ? FreeSlotCalculator.ANY_TIME
+                    : preferredStart.toSecondOfDay() / 60;
+            int preferredTo = preferredEnd == null ? FreeSlotCalculator.ANY_TIME : preferredEnd.toSecondOfDay() / 60;
+
+            FreeSlotIterator slots = new FreeSlotIterator(mergedBusy(required), EpochMinutes.floor(from),
+                    EpochMinutes.floor(to), streamChunkDays * EpochMinutes.MINUTES_PER_DAY, minutes,
+                    step.toMinutes(), FreeSlotCalculator.ANY_TIME, FreeSlotCalculator.ANY_TIME);
+            SlotRanking ranking = new SlotRanking(limit);
+            while (slots.hasNext()) {
+                long slot = slots.nextLong();
+                double preference = SlotRanking.preference(slot, minutes, preferredFrom, preferredTo);
+                // The optional and fragmentation lookups are skipped once even a perfect slot here loses
+                if (!ranking.wouldKeep(SlotRanking.score(1, preference, 1))) {
+                    continue;
+                }
+                ranking.offer(slot, SlotRanking.score(freeShare(optionalOnly, slot, minutes), preference,
+                        fragmentation(required, slot, minutes)));
+            }
+
+            List<MeetingSuggestion> suggestions = new ArrayList<>();
+            for (SlotRanking.Candidate candidate : ranking.best()) {
+                long slot = candidate.slot();
+                List<String> available = new ArrayList<>();
+                List<String> unavailable = new ArrayList<>();
+                for (Employee employee : optionalOnly) {
+                    (calendarIndex.hasOverlap(employee.getId(), slot, slot + minutes) ? unavailable : available)
+                            .add(employee.getName());
+                }
+                suggestions.add(new MeetingSuggestion(EpochMinutes.toDateTime(slot),
+                        EpochMinutes.toDateTime(slot + minutes), candidate.score(), available, unavailable));
+            }
+            metrics.recordSize("meeting.slots.found", ids.size(), suggestions.size());
+            return suggestions;
+        });
     }
 
-    // Helper method to find available time slots between meetings
-    private List<LocalDateTime> findFreeTimeSlots(List<LocalDateTime> mergedBusyTimes, Duration duration, LocalDateTime from, LocalDateTime to) {
-        List<LocalDateTime> freeSlots = new ArrayList<>();
-        LocalDateTime slotStart = from;
+    // Share of the employees free for all of [slot, slot + duration); 1 when there are none
+    private double freeShare(List<Employee> employees, long slot, long duration) {
+        if (employees.isEmpty()) {
+            return 1;
+        }
+        int free = 0;
+        for (Employee employee : employees) {
+            if (!calendarIndex.hasOverlap(employee.getId(), slot, slot + duration)) {
+                free++;
+            }
+        }
+        return (double) free / employees.size();
+    }
 
-        // Free time before first meeting
-        if (mergedBusyTimes.isEmpty() || slotStart.isBefore(mergedBusyTimes.get(0))) {
-            LocalDateTime firstBusyStart = mergedBusyTimes.isEmpty() ? to : mergedBusyTimes.get(0);
-            while (slotStart.plus(duration).isBefore(firstBusyStart)) {
-                freeSlots.add(slotStart);
-                slotStart = slotStart.plus(duration);
+    // How well a slot free for every attendee fits between their meetings, per side: 1 when it
+    // starts or ends right against a meeting, 0 when it leaves a gap too short for another meeting
+    // of the same length, 0.5 otherwise. The score is the mean of both sides.
+    private double fragmentation(List<Employee> attendees, long slot, long duration) {
+        long end = slot + duration;
+        boolean touchesBefore = false;
+        boolean fragmentsBefore = false;
+        boolean touchesAfter = false;
+        boolean fragmentsAfter = false;
+        for (Employee attendee : attendees) {
+            long[] busy = calendarIndex.busyMinutes(attendee, slot - duration, end + duration);
+            for (int i = 0; i < busy.length; i += 2) {
+                if (busy[i + 1] <= slot) {
+                    touchesBefore |= busy[i + 1] == slot;
+                    fragmentsBefore |= busy[i + 1] < slot;
+                } else if (busy[i] >= end) {
+                    touchesAfter |= busy[i] == end;
+                    fragmentsAfter |= busy[i] > end;
+                }
             }
         }
+        return (fit(touchesBefore, fragmentsBefore) + fit(touchesAfter, fragmentsAfter)) / 2;
+    }
 
-        // Free time between meetings
-        for (int i = 0; i < mergedBusyTimes.size() - 2; i += 2) {
-            LocalDateTime busyEnd = mergedBusyTimes.get(i + 1);
-            LocalDateTime nextBusyStart = mergedBusyTimes.get(i + 2);
+    private static double fit(boolean touches, boolean fragments) {
+        return fragments ? 0 : touches ? 1 : 0.5;
+    }
 
-            while (busyEnd.plus(duration).isBefore(nextBusyStart)) {
-                freeSlots.add(busyEnd);
-                busyEnd = busyEnd.plus(duration);
+    // Merged busy time of the attendees per chunk, read from the calendar index
+    private FreeSlotIterator.BusySource mergedBusy(List<Employee> employees) {
+        List<Employee> attendees = new ArrayList<>(employees);
+        return (chunkFrom, chunkTo) -> {
+            long[][] calendars = new long[attendees.size()][];
+            for (int i = 0; i < calendars.length; i++) {
+                calendars[i] = calendarIndex.busyMinutes(attendees.get(i), chunkFrom, chunkTo);
             }
+            return FreeSlotCalculator.mergeBusyTimes(calendars);
+        };
+    }
+
+    // Method to count, for every bucket of [from, to), how many of the employees have nothing
+    // booked in it. Cold calendars are loaded with one bulk query; the per-employee work then runs
+    // as a parallel stream on the heatmap ForkJoinPool, each worker counting busy employees into
+    // its own array, and the arrays are summed.
+    @Transactional(readOnly = true)
+    public AvailabilityHeatmap availabilityHeatmap(List<Employee> employees, LocalDateTime from, LocalDateTime to,
+            Duration bucket) {
+        if (bucket.toMinutes() <= 0) {
+            throw new IllegalArgumentException("Buckets must be at least one minute");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Range must start before it ends");
+        }
+        long fromMinute = EpochMinutes.floor(from);
+        long toMinute = EpochMinutes.floor(to);
+        long bucketMinutes = bucket.toMinutes();
+        long buckets = (toMinute - fromMinute + bucketMinutes - 1) / bucketMinutes;
+        if (buckets > MAX_HEATMAP_BUCKETS) {
+            throw new IllegalArgumentException("A heatmap has at most " + MAX_HEATMAP_BUCKETS + " buckets");
         }
 
-        // Free time after last meeting
-        if (!mergedBusyTimes.isEmpty() && mergedBusyTimes.get(mergedBusyTimes.size() - 1).isBefore(to)) {
-            LocalDateTime lastBusyEnd = mergedBusyTimes.get(mergedBusyTimes.size() - 1);
-            while (lastBusyEnd.plus(duration).isBefore(to)) {
-                freeSlots.add(lastBusyEnd);
-                lastBusyEnd = lastBusyEnd.plus(duration);
+        Map<Long, Employee> byId = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            byId.putIfAbsent(employee.getId(), employee);
+        }
+        readYourWrites.routeReads(byId.keySet());
+        return metrics.time("meeting.heatmap", byId.size(), () -> {
+            calendarIndex.preload(byId.keySet());
+            List<Employee> attendees = new ArrayList<>(byId.values());
+            int[] busy = heatmapPool.submit(() -> attendees.parallelStream().collect(() -> new int[(int) buckets],
+                    (counts, employee) -> countBusyBuckets(counts,
+                            calendarIndex.busyMinutes(employee, fromMinute, toMinute), fromMinute, toMinute,
+                            bucketMinutes),
+                    (counts, other) -> {
+                        for (int i = 0; i < counts.length; i++) {
+                            counts[i] += other[i];
+                        }
+                    })).join();
+
+            int[] free = new int[busy.length];
+            for (int i = 0; i < free.length; i++) {
+                free[i] = attendees.size() - busy[i];
+            }
+            return new AvailabilityHeatmap(EpochMinutes.toDateTime(fromMinute), bucketMinutes, attendees.size(),
+                    free);
+        });
+    }
+
+    // Helper method to add one to every bucket that the sorted busy intervals touch, once per bucket
+    private static void countBusyBuckets(int[] counts, long[] busy, long from, long to, long bucket) {
+        int next = 0;
+        for (int i = 0; i < busy.length; i += 2) {
+            long start = Math.max(busy[i], from);
+            long end = Math.min(busy[i + 1], to);
+            if (start >= end) {
+                continue;
             }
+            int last = (int) ((end - from + bucket - 1) / bucket);
+            for (int b = Math.max(next, (int) ((start - from) / bucket)); b < last; b++) {
+                counts[b]++;
+            }
+            next = Math.max(next, last);
         }
+    }
+
+    // Helper method to find common free slots across any number of sorted epoch-minute calendars
+    private long[] findCommonFreeSlots(long[][] calendars, long duration, long step, long from, long to,
+            int workStart, int workEnd) {
+        long[] mergedBusyTimes = FreeSlotCalculator.mergeBusyTimes(calendars);
+        long[] slots = FreeSlotCalculator.findFreeTimeSlots(mergedBusyTimes, from, to, duration, step, workStart,
+                workEnd);
+        // Sizes of actual computations only; cache hits skip this
+        metrics.recordSize("meeting.slots.busy.intervals", calendars.length, mergedBusyTimes.length / 2);
+        metrics.recordSize("meeting.slots.found", calendars.length, slots.length);
+        return slots;
+    }
 
-        return freeSlots;
+    // Helper method to find common free slots by ORing the attendees' cached day bitsets
+    private long[] findCommonFreeSlotsInBitsets(List<Employee> employees, long duration, long step, long from,
+            long to, int workStart, int workEnd) {
+        int quantum = bitsetQuantumMinutes;
+        long[] slots = DayBitsets.findFreeTimeSlots(day -> {
+            long dayStart = day * EpochMinutes.MINUTES_PER_DAY;
+            long[][] days = new long[employees.size()][];
+            for (int i = 0; i < days.length; i++) {
+                Employee employee = employees.get(i);
+                days[i] = freeSlotCache.dayBits(employee.getId(), day, quantum, () -> DayBitsets.of(
+                        calendarIndex.busyMinutes(employee, dayStart, dayStart + EpochMinutes.MINUTES_PER_DAY), day,
+                        quantum));
+            }
+            return DayBitsets.union(days);
+        }, quantum, from, to, duration, step, workStart, workEnd);
+        metrics.recordSize("meeting.slots.found", employees.size(), slots.length);
+        return slots;
     }
 
     // Method to find participants with meeting conflicts
+    @Transactional(readOnly = true)
     public List<Employee> findParticipantsWithConflicts(Meeting newMeeting) {
-        List<Employee> participantsWithConflicts = new ArrayList<>();
+        readYourWrites.routeReads(idsOf(newMeeting.getParticipants()));
+        return metrics.time("meeting.conflicts.find", newMeeting.getParticipants().size(),
+                () -> findConflictingAttendees(newMeeting.getParticipants(), newMeeting.getStartTime(),
+                        newMeeting.getEndTime()),
+                conflicting -> conflicting.isEmpty() ? MeetingMetrics.OK : MeetingMetrics.CONFLICT);
+    }
+
+    // Method to read one page of an employee's calendar in [from, to) using keyset pagination on
+    // (startTime, id), so every page is a bounded range scan however deep the client pages
+    @Transactional(readOnly = true)
+    public CalendarPage getCalendar(Long employeeId, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        // Journaled bookings the sink has not written yet, read before the database so one the sink
+        // writes meanwhile is in either of the two
+        List<Meeting> unsunk = journal == null ? List.of() : journal.findUnsunk(employeeId, from, to);
+        readYourWrites.routeReads(List.of(employeeId));
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new NotFoundException("Employee not found with id: " + employeeId);
+        }
+        if (limit < 1 || limit > MAX_CALENDAR_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CALENDAR_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<MeetingSummary> meetings;
+        LocalDateTime cursorStart = null;
+        Long cursorKey = null;
+        if (cursor == null || cursor.isEmpty()) {
+            meetings = meetingRepository.findCalendarPage(employeeId, from, to, page);
+        } else {
+            String[] position = decodeCursor(cursor);
+            cursorStart = LocalDateTime.parse(position[0]);
+            cursorKey = Long.valueOf(position[1]);
+            meetings = meetingRepository.findCalendarPageAfter(employeeId, from, to, cursorStart, cursorKey, page);
+        }
 
-        for (Employee participant : newMeeting.getParticipants()) {
-            if (hasConflicts(participant, newMeeting.getStartTime(), newMeeting.getEndTime())) {
-                participantsWithConflicts.add(participant);
+        // Series occurrences are expanded for this page only and merged in, as are unsunk bookings
+        List<MeetingSummary> occurrences = seriesOccurrences(employeeId, from, to, cursorStart, cursorKey, limit + 1);
+        occurrences.addAll(unsunkSummaries(unsunk, meetings, cursorStart, cursorKey));
+        if (!occurrences.isEmpty()) {
+            List<MeetingSummary> merged = new ArrayList<>(meetings);
+            merged.addAll(occurrences);
+            merged.sort(CALENDAR_ORDER);
+            meetings = merged.size() > limit + 1 ? merged.subList(0, limit + 1) : merged;
+        }
+
+        if (meetings.size() <= limit) {
+            return new CalendarPage(meetings, null);
+        }
+        List<MeetingSummary> content = new ArrayList<>(meetings.subList(0, limit));
+        MeetingSummary last = content.get(limit - 1);
+        return new CalendarPage(content, encodeCursor(last.getStartTime(), sortKey(last)));
+    }
+
+    // Calendar entries are ordered by (startTime, key). Meetings use their id as key; occurrences
+    // use the negated series id, so they sort before meetings starting at the same time and the
+    // cursor needs no extra field.
+    private static final Comparator<MeetingSummary> CALENDAR_ORDER = Comparator
+            .comparing(MeetingSummary::getStartTime).thenComparing(MeetingService::sortKey);
+
+    private static long sortKey(MeetingSummary summary) {
+        return summary.getId() != null ? summary.getId() : -summary.getSeriesId();
+    }
+
+    // Helper method to expand the employee's series occurrences in [from, to) after the cursor,
+    // at most `max` of them per series
+    private List<MeetingSummary> seriesOccurrences(Long employeeId, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorStart, Long cursorKey, int max) {
+        List<MeetingSummary> occurrences = new ArrayList<>();
+        long fromMinute = EpochMinutes.floor(cursorStart == null || cursorStart.isBefore(from) ? from : cursorStart);
+        long toMinute = EpochMinutes.ceil(to);
+        for (MeetingSeries series : seriesRepository.findByEmployeeIds(List.of(employeeId))) {
+            Recurrence recurrence = Recurrence.of(series);
+            Employee owner = series.getOwner();
+            // One extra in case the first one sits exactly at the cursor
+            long[] minutes = recurrence.occurrences(fromMinute, toMinute, max + 1);
+            for (int i = 0; i < minutes.length; i += 2) {
+                MeetingSummary occurrence = new MeetingSummary(null, EpochMinutes.toDateTime(minutes[i]),
+                        EpochMinutes.toDateTime(minutes[i + 1]), owner.getId(), owner.getName());
+                occurrence.setSeriesId(series.getId());
+                if (occurrence.getEndTime().isAfter(from) && (cursorStart == null
+                        || CALENDAR_ORDER.compare(occurrence, position(cursorStart, cursorKey)) > 0)) {
+                    occurrences.add(occurrence);
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    // Helper method to summarize the unsunk bookings after the cursor that the database page does
+    // not already hold
+    private List<MeetingSummary> unsunkSummaries(List<Meeting> unsunk, List<MeetingSummary> page,
+            LocalDateTime cursorStart, Long cursorKey) {
+        if (unsunk.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> paged = new HashSet<>();
+        for (MeetingSummary summary : page) {
+            paged.add(summary.getId());
+        }
+        Set<Long> ownerIds = new HashSet<>();
+        unsunk.forEach(meeting -> ownerIds.add(meeting.getOwner().getId()));
+        Map<Long, String> names = new HashMap<>();
+        employeeRepository.findAllById(ownerIds).forEach(e -> names.put(e.getId(), e.getName()));
+
+        List<MeetingSummary> summaries = new ArrayList<>();
+        for (Meeting meeting : unsunk) {
+            MeetingSummary summary = new MeetingSummary(meeting.getId(), meeting.getStartTime(),
+                    meeting.getEndTime(), meeting.getOwner().getId(), names.get(meeting.getOwner().getId()));
+            if (!paged.contains(meeting.getId()) && (cursorStart == null
+                    || CALENDAR_ORDER.compare(summary, position(cursorStart, cursorKey)) > 0)) {
+                summaries.add(summary);
             }
         }
+        return summaries;
+    }
 
-        return participantsWithConflicts;
+    private static MeetingSummary position(LocalDateTime startTime, Long key) {
+        return new MeetingSummary(key, startTime, null, null, null);
+    }
+
+    // Helper methods for the opaque calendar cursor: base64url of "startTime|id"
+    private static String encodeCursor(LocalDateTime startTime, Long id) {
+        String position = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,132 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.app.entities.MeetingSeries;
+
+// Immutable recurrence rule of a meeting series on epoch minutes. Occurrences are computed on
+// demand for one window: the first candidate is found arithmetically (or, for monthly series,
+// from the month distance), so the cost of a query depends on the occurrences inside the window,
+// never on how long the series has been running.
+public final class Recurrence {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Long seriesId;
+    private final LocalDateTime firstStart;
+    private final long first;
+    private final long duration;
+    private final int interval;
+    // Minutes between occurrences for daily and weekly series, 0 for monthly ones
+    private final long period;
+    private final long untilDay;
+    private final long[] exceptionDays;
+
+    public Recurrence(Long seriesId, LocalDateTime firstStart, long durationMinutes, MeetingSeries.Frequency frequency,
+            int interval, LocalDate untilDate, Collection<LocalDate> exceptions) {
+        this.seriesId = seriesId;
+        this.firstStart = firstStart;
+        this.first = EpochMinutes.floor(firstStart);
+        this.duration = durationMinutes;
+        this.interval = interval;
+        switch (frequency) {
+        case DAILY:
+            period = interval * EpochMinutes.MINUTES_PER_DAY;
+            break;
+        case WEEKLY:
+            period = interval * 7 * EpochMinutes.MINUTES_PER_DAY;
+            break;
+        default:
+            period = 0;
+        }
+        this.untilDay = untilDate == null ? Long.MAX_VALUE : untilDate.toEpochDay();
+        this.exceptionDays = exceptions == null ? EMPTY
+                : exceptions.stream().mapToLong(LocalDate::toEpochDay).sorted().distinct().toArray();
+    }
+
+    public static Recurrence of(MeetingSeries series) {
+        return new Recurrence(series.getId(), series.getFirstStart(), series.getDurationMinutes(),
+                series.getFrequency(), series.getRepeatInterval(), series.getUntilDate(), series.getExceptions());
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    // Epoch minute the series ends after, or Long.MAX_VALUE for series without an until date
+    public long lastMinute() {
+        return untilDay == Long.MAX_VALUE ? Long.MAX_VALUE : (untilDay + 1) * EpochMinutes.MINUTES_PER_DAY + duration;
+    }
+
+    // Check whether any occurrence overlaps [start, end), without expanding the rest
+    public boolean hasOverlap(long start, long end) {
+        for (long k = firstCandidate(start); ; k++) {
+            long occurrence = start(k);
+            if (occurrence >= end || Math.floorDiv(occurrence, EpochMinutes.MINUTES_PER_DAY) > untilDay) {
+                return false;
+            }
+            if (occurrence + duration > start && !skipped(occurrence)) {
+                return true;
+            }
+        }
+    }
+
+    // Occurrences overlapping [from, to), as flat sorted [start, end] pairs
+    public long[] occurrences(long from, long to) {
+        return occurrences(from, to, Integer.MAX_VALUE);
+    }
+
+    // The first `max` occurrences overlapping [from, to)
+    public long[] occurrences(long from, long to, int max) {
+        long[] result = new long[16];
+        int size = 0;
+        for (long k = firstCandidate(from); size < 2L * max; k++) {
+            long occurrence = start(k);
+            if (occurrence >= to || Math.floorDiv(occurrence, EpochMinutes.MINUTES_PER_DAY) > untilDay) {
+                break;
+            }
+            if (occurrence + duration > from && !skipped(occurrence)) {
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = occurrence;
+                result[size++] = occurrence + duration;
+            }
+        }
+        return size == 0 ? EMPTY : Arrays.copyOf(result, size);
+    }
+
+    // Index of the first occurrence that can still end after `from`; never past it
+    private long firstCandidate(long from) {
+        long earliest = from - duration;
+        if (earliest < first) {
+            return 0;
+        }
+        if (period > 0) {
+            return Math.floorDiv(earliest - first, period);
+        }
+        // Months have different lengths, so step back one period from the month distance
+        long months = ChronoUnit.MONTHS.between(firstStart, EpochMinutes.toDateTime(earliest));
+        return Math.max(0, months / interval - 1);
+    }
+
+    private long start(long k) {
+        if (period > 0) {
+            return first + k * period;
+        }
+        return EpochMinutes.floor(firstStart.plusMonths(k * interval));
+    }
+
+    private boolean skipped(long occurrence) {
+        return exceptionDays.length > 0
+                && Arrays.binarySearch(exceptionDays, Math.floorDiv(occurrence, EpochMinutes.MINUTES_PER_DAY)) >= 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.service;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+// The best `limit` candidate slots seen so far, in a min-heap whose head is the weakest kept
+// candidate, so ranking a whole window costs O(n log k) time and O(k) memory. Equal scores
+// favour the earlier slot.
+public final class SlotRanking {
+
+    // Weights of the score parts; each part is in [0, 1], so the score is too
+    static final double OPTIONAL_WEIGHT = 0.5;
+    static final double PREFERENCE_WEIGHT = 0.3;
+    static final double FRAGMENTATION_WEIGHT = 0.2;
+
+    private final int limit;
+    private final PriorityQueue<Candidate> heap;
+
+    public SlotRanking(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(limit, SlotRanking::compareWorstFirst);
+    }
+
+    public static double score(double optionalShare, double preference, double fragmentation) {
+        return OPTIONAL_WEIGHT * optionalShare + PREFERENCE_WEIGHT * preference
+                + FRAGMENTATION_WEIGHT * fragmentation;
+    }
+
+    // 1 inside [preferredStart, preferredEnd) minutes-of-day, falling off with every hour outside
+    public static double preference(long slot, long duration, int preferredStart, int preferredEnd) {
+        if (preferredStart == FreeSlotCalculator.ANY_TIME) {
+            return 1;
+        }
+        long minuteOfDay = Math.floorMod(slot, EpochMinutes.MINUTES_PER_DAY);
+        long outside = Math.max(0, preferredStart - minuteOfDay) + Math.max(0, minuteOfDay + duration - preferredEnd);
+        return 1 / (1 + outside / 60.0);
+    }
+
+    // Whether a candidate with this score would be kept; lets callers skip work for hopeless slots
+    public boolean wouldKeep(double bestPossibleScore) {
+        return heap.size() < limit || bestPossibleScore > heap.peek().score;
+    }
+
+    public void offer(long slot, double score) {
+        if (heap.size() < limit) {
+            heap.add(new Candidate(slot, score));
+        } else if (score > heap.peek().score) {
+            heap.poll();
+            heap.add(new Candidate(slot, score));
+        }
+    }
+
+    // Kept candidates from best to worst
+    public Candidate[] best() {
+        Candidate[] best = heap.toArray(new Candidate[0]);
+        Arrays.sort(best, (a, b) -> compareWorstFirst(b, a));
+        return best;
+    }
+
+    private static int compareWorstFirst(Candidate a, Candidate b) {
+        int byScore = Double.compare(a.score, b.score);
+        return byScore != 0 ? byScore : Long.compare(b.slot, a.slot);
+    }
+
+    public static final class Candidate {
+        private final long slot;
+        private final double score;
+
+        Candidate(long slot, double score) {
+            this.slot = slot;
+            this.score = score;
+        }
+
+        public long slot() {
+            return slot;
+        }
+
+        public double score() {
+            return score;
+        }
+    }
+}
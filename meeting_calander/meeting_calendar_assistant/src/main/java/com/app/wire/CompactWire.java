@@ -0,0 +1,187 @@
+package com.app.wire;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+
+import com.app.dto.CalendarPage;
+import com.app.dto.MeetingSummary;
+import com.app.service.EpochMinutes;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+// Compact encodings of free-slot and calendar responses, chosen by the Accept header; plain JSON
+// stays the default. Free slots are interval-compressed: a run of slots `step` minutes apart is
+// one range of start + count instead of one date-time per slot. The CBOR forms carry epoch
+// minutes delta-encoded against the previous value, so most numbers take one to three bytes.
+public final class CompactWire {
+
+    // {"stepMinutes": 15, "ranges": [{"start": "2030-01-07T09:00:00", "count": 12}, ...]}
+    public static final String SLOT_RANGES_JSON_VALUE = "application/vnd.meeting.slot-ranges+json";
+    public static final MediaType SLOT_RANGES_JSON = MediaType.parseMediaType(SLOT_RANGES_JSON_VALUE);
+
+    private CompactWire() {
+    }
+
+    // Step the slots are grouped by: the most common gap between neighbours, which is the search
+    // step for slots stepped through free windows. Any step would decode losslessly.
+    public static long step(long[] slots) {
+        Map<Long, Integer> gaps = new HashMap<>();
+        long step = 1;
+        int best = 0;
+        for (int i = 1; i < slots.length; i++) {
+            long gap = slots[i] - slots[i - 1];
+            int count = gaps.merge(gap, 1, Integer::sum);
+            if (gap > 0 && (count > best || (count == best && gap < step))) {
+                step = gap;
+                best = count;
+            }
+        }
+        return step;
+    }
+
+    // Ascending slots as flat (start, count) pairs of runs `step` minutes apart
+    public static long[] ranges(long[] slots, long step) {
+        long[] ranges = new long[2 * slots.length];
+        int size = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (size > 0 && slots[i] == ranges[size - 2] + ranges[size - 1] * step) {
+                ranges[size - 1]++;
+            } else {
+                ranges[size++] = slots[i];
+                ranges[size++] = 1;
+            }
+        }
+        return Arrays.copyOf(ranges, size);
+    }
+
+    public static long[] expand(long[] ranges, long step) {
+        int count = 0;
+        for (int i = 1; i < ranges.length; i += 2) {
+            count += (int) ranges[i];
+        }
+        long[] slots = new long[count];
+        int size = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (long n = 0; n < ranges[i + 1]; n++) {
+                slots[size++] = ranges[i] + n * step;
+            }
+        }
+        return slots;
+    }
+
+    public static void writeSlotRangesJson(JsonGenerator generator, long[] slots) throws IOException {
+        long step = step(slots);
+        long[] ranges = ranges(slots, step);
+        generator.writeStartObject();
+        generator.writeNumberField("stepMinutes", step);
+        generator.writeArrayFieldStart("ranges");
+        for (int i = 0; i < ranges.length; i += 2) {
+            generator.writeStartObject();
+            generator.writeStringField("start",
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(EpochMinutes.toDateTime(ranges[i])));
+            generator.writeNumberField("count", ranges[i + 1]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    // {"stepMinutes": step, "ranges": [start, count, gap, count, ...]}: the first start is an
+    // epoch minute, every later one the distance from the last slot of the previous range
+    public static void writeSlotRangesCbor(JsonGenerator generator, long[] slots) throws IOException {
+        long step = step(slots);
+        long[] ranges = ranges(slots, step);
+        generator.writeStartObject();
+        generator.writeNumberField("stepMinutes", step);
+        generator.writeFieldName("ranges");
+        generator.writeStartArray(null, ranges.length);
+        long previous = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            generator.writeNumber(ranges[i] - previous);
+            generator.writeNumber(ranges[i + 1]);
+            previous = ranges[i] + (ranges[i + 1] - 1) * step;
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    // Slot starts in epoch minutes from writeSlotRangesCbor output
+    public static long[] readSlotRangesCbor(JsonParser parser) throws IOException {
+        long step = 1;
+        long[] ranges = new long[0];
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (field.equals("stepMinutes")) {
+                parser.nextToken();
+                step = parser.getLongValue();
+            } else if (field.equals("ranges")) {
+                expect(parser.nextToken(), JsonToken.START_ARRAY);
+                long[] values = new long[16];
+                int size = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size * 2);
+                    }
+                    values[size++] = parser.getLongValue();
+                }
+                ranges = Arrays.copyOf(values, size);
+            } else {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
+        // Undo the deltas once the step is known, wherever it came in the map
+        long previous = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            ranges[i] += previous;
+            previous = ranges[i] + (ranges[i + 1] - 1) * step;
+        }
+        return expand(ranges, step);
+    }
+
+    // {"nextCursor": ..., "meetings": [[id, seriesId, start, minutes, ownerId, ownerName], ...]}:
+    // starts are epoch minutes, each after the first relative to the previous meeting's start;
+    // the calendar index's minute precision applies
+    public static void writeCalendarCbor(JsonGenerator generator, CalendarPage page) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("nextCursor", page.getNextCursor());
+        generator.writeFieldName("meetings");
+        generator.writeStartArray(null, page.getMeetings().size());
+        long previous = 0;
+        for (MeetingSummary meeting : page.getMeetings()) {
+            long start = EpochMinutes.floor(meeting.getStartTime());
+            generator.writeStartArray(null, 6);
+            writeNullable(generator, meeting.getId());
+            writeNullable(generator, meeting.getSeriesId());
+            generator.writeNumber(start - previous);
+            generator.writeNumber(EpochMinutes.ceil(meeting.getEndTime()) - start);
+            writeNullable(generator, meeting.getOwnerId());
+            generator.writeString(meeting.getOwnerName());
+            generator.writeEndArray();
+            previous = start;
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeNullable(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual);
+        }
+    }
+}
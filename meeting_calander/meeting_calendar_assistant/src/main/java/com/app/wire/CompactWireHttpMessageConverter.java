@@ -0,0 +1,84 @@
+package com.app.wire;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.app.dto.CalendarPage;
+import com.app.dto.FreeSlots;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+// Writes FreeSlots as slot ranges in JSON or CBOR and CalendarPage as CBOR when the client asks
+// for those media types by name; anything else, */* included, is left to the JSON converter.
+public class CompactWireHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonFactory jsonFactory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final CBORFactory cborFactory = (CBORFactory) new CBORFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    public CompactWireHttpMessageConverter() {
+        super(CompactWire.SLOT_RANGES_JSON, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return FreeSlots.class.isAssignableFrom(clazz) || CalendarPage.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        if (CalendarPage.class.isAssignableFrom(clazz) && !MediaType.APPLICATION_CBOR.equals(mediaType)) {
+            return false;
+        }
+        return super.canWrite(clazz, mediaType);
+    }
+
+    // Only on explicit request: unlisted among the producible types, so */* never selects it
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                && super.canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        boolean cbor = MediaType.APPLICATION_CBOR.isCompatibleWith(outputMessage.getHeaders().getContentType());
+        JsonGenerator generator = (cbor ? cborFactory : jsonFactory).createGenerator(outputMessage.getBody());
+        if (value instanceof CalendarPage) {
+            CompactWire.writeCalendarCbor(generator, (CalendarPage) value);
+        } else if (cbor) {
+            CompactWire.writeSlotRangesCbor(generator, ((FreeSlots) value).minutes());
+        } else {
+            CompactWire.writeSlotRangesJson(generator, ((FreeSlots) value).minutes());
+        }
+        generator.close();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Compact wire formats are response-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Compact wire formats are response-only", inputMessage);
+    }
+}
@@ -0,0 +1,24 @@
+-- Same schema as db/migration/mysql for the embedded database used by tests and benchmarks
+create table employee (
+    id bigint generated by default as identity,
+    name varchar(255),
+    primary key (id)
+);
+
+create sequence meeting_seq start with 1 increment by 50;
+
+create table meeting (
+    id bigint not null,
+    end_time timestamp,
+    start_time timestamp,
+    owner_id bigint,
+    primary key (id),
+    constraint fk_meeting_owner foreign key (owner_id) references employee (id)
+);
+
+create table meeting_participants (
+    meeting_id bigint not null,
+    participant_id bigint not null,
+    constraint fk_participant_meeting foreign key (meeting_id) references meeting (id),
+    constraint fk_participant_employee foreign key (participant_id) references employee (id)
+);
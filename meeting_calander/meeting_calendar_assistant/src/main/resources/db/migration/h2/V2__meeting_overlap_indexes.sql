@@ -0,0 +1,12 @@
+alter table meeting add column start_day int;
+alter table meeting add column span_days int;
+
+update meeting
+set start_day = datediff('DAY', date '1970-01-01', start_time),
+    span_days = datediff('DAY', start_time, end_time);
+
+create index idx_meeting_owner_day on meeting (owner_id, start_day, start_time, end_time);
+create index idx_meeting_owner_end on meeting (owner_id, end_time);
+create index idx_meeting_day on meeting (start_day, start_time, end_time);
+create index idx_meeting_span on meeting (span_days);
+create index idx_participant_meeting on meeting_participants (participant_id, meeting_id);
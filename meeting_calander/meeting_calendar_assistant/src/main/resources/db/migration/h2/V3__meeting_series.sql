@@ -0,0 +1,27 @@
+create table meeting_series (
+    id bigint generated by default as identity,
+    first_start timestamp,
+    duration_minutes bigint not null,
+    frequency varchar(16),
+    repeat_interval integer not null,
+    until_date date,
+    owner_id bigint,
+    primary key (id),
+    constraint fk_series_owner foreign key (owner_id) references employee (id)
+);
+
+create table meeting_series_participants (
+    series_id bigint not null,
+    participant_id bigint not null,
+    constraint fk_series_participant_series foreign key (series_id) references meeting_series (id),
+    constraint fk_series_participant_employee foreign key (participant_id) references employee (id)
+);
+
+create table meeting_series_exceptions (
+    series_id bigint not null,
+    exception_date date,
+    constraint fk_series_exception_series foreign key (series_id) references meeting_series (id)
+);
+
+create index idx_series_owner on meeting_series (owner_id);
+create index idx_series_participant on meeting_series_participants (participant_id, series_id);
@@ -0,0 +1,5 @@
+-- Same as db/migration/mysql: databases baselined at V1 have no meeting_seq yet
+create sequence if not exists meeting_seq start with 1 increment by 50;
+
+-- Start a whole allocation block (50) above the highest existing id
+alter sequence meeting_seq restart with (select coalesce(max(id), 0) + 51 from meeting);
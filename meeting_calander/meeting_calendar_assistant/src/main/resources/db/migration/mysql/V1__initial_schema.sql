@@ -0,0 +1,30 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only pick up later scripts.
+create table employee (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table meeting (
+    id bigint not null,
+    end_time datetime(6),
+    start_time datetime(6),
+    owner_id bigint,
+    primary key (id),
+    constraint fk_meeting_owner foreign key (owner_id) references employee (id)
+) engine=InnoDB;
+
+create table meeting_participants (
+    meeting_id bigint not null,
+    participant_id bigint not null,
+    constraint fk_participant_meeting foreign key (meeting_id) references meeting (id),
+    constraint fk_participant_employee foreign key (participant_id) references employee (id)
+) engine=InnoDB;
+
+-- MySQL has no sequences; Hibernate emulates meeting_seq with a single-row table
+create table meeting_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into meeting_seq values (1);
@@ -0,0 +1,19 @@
+-- Day buckets for bounded overlap scans: start_day is the epoch day of start_time and span_days
+-- the number of day boundaries the meeting crosses
+alter table meeting
+    add column start_day int,
+    add column span_days int;
+
+update meeting
+set start_day = datediff(start_time, '1970-01-01'),
+    span_days = datediff(end_time, start_time);
+
+-- Owned meetings of one employee overlapping a window: range scan on (start_day, start_time),
+-- with end_time in the index so the overlap test needs no row lookup
+create index idx_meeting_owner_day on meeting (owner_id, start_day, start_time, end_time);
+create index idx_meeting_owner_end on meeting (owner_id, end_time);
+-- Participated meetings are found through the join table, then filtered by day bucket
+create index idx_meeting_day on meeting (start_day, start_time, end_time);
+-- max(span_days) is read from the end of this index
+create index idx_meeting_span on meeting (span_days);
+create index idx_participant_meeting on meeting_participants (participant_id, meeting_id);
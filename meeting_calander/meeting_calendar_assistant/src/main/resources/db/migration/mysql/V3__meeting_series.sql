@@ -0,0 +1,28 @@
+-- Recurring meetings: one row per series, occurrences are expanded in memory
+create table meeting_series (
+    id bigint not null auto_increment,
+    first_start datetime(6),
+    duration_minutes bigint not null,
+    frequency varchar(16),
+    repeat_interval integer not null,
+    until_date date,
+    owner_id bigint,
+    primary key (id),
+    constraint fk_series_owner foreign key (owner_id) references employee (id)
+) engine=InnoDB;
+
+create table meeting_series_participants (
+    series_id bigint not null,
+    participant_id bigint not null,
+    constraint fk_series_participant_series foreign key (series_id) references meeting_series (id),
+    constraint fk_series_participant_employee foreign key (participant_id) references employee (id)
+) engine=InnoDB;
+
+create table meeting_series_exceptions (
+    series_id bigint not null,
+    exception_date date,
+    constraint fk_series_exception_series foreign key (series_id) references meeting_series (id)
+) engine=InnoDB;
+
+create index idx_series_owner on meeting_series (owner_id);
+create index idx_series_participant on meeting_series_participants (participant_id, series_id);
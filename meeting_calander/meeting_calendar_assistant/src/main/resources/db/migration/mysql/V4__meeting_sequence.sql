@@ -0,0 +1,14 @@
+-- Databases created by ddl-auto=update are baselined at V1 and never ran it, so they have no
+-- meeting_seq table yet
+create table if not exists meeting_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into meeting_seq (next_val)
+select 1 from dual where not exists (select * from meeting_seq);
+
+-- Meeting ids were auto-increment before the pooled sequence. Hibernate hands out the block of
+-- allocationSize (50) ids ending at the value it reads, so that value must be a whole block
+-- above the highest id already used.
+update meeting_seq
+set next_val = greatest(next_val, (select coalesce(max(id), 0) + 51 from meeting));
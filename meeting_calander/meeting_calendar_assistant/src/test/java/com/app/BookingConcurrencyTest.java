@@ -0,0 +1,140 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.custom_exceptions.ConflictException;
+import com.app.dto.AttendeeBusyInterval;
+import com.app.entities.Employee;
+import com.app.repository.MeetingRepository;
+import com.app.service.EmployeeService;
+import com.app.service.MeetingService;
+
+// Many threads book overlapping meetings for a small group of employees at once. Every attendee's
+// calendar must stay free of overlaps, and each round's throughput is published to the test report
+// as the thread count grows.
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int EMPLOYEES = 8;
+    private static final int ATTEMPTS_PER_ROUND = 400;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(employeeService.createEmployee(new Employee("Stress " + System.nanoTime() + " " + i)));
+        }
+    }
+
+    @Test
+    void testConcurrentBookingsNeverOverlap(TestReporter reporter) throws Exception {
+        int[] threadCounts = { 1, 2, 4, 8 };
+        for (int round = 0; round < threadCounts.length; round++) {
+            // Each round books on its own day so rounds do not reject each other's meetings
+            LocalDate day = LocalDate.of(2031, 3, 3).plusDays(round);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            long nanos = runRound(threadCounts[round], day, accepted, rejected);
+
+            assertEquals(ATTEMPTS_PER_ROUND, accepted.get() + rejected.get());
+            assertTrue(accepted.get() > 0 && rejected.get() > 0);
+            reporter.publishEntry(threadCounts[round] + "-threads.bookings-per-s",
+                    String.format("%.0f", ATTEMPTS_PER_ROUND * 1e9 / nanos));
+        }
+
+        assertNoOverlaps();
+    }
+
+    private long runRound(int threads, LocalDate day, AtomicInteger accepted, AtomicInteger rejected)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(31L * threads + t);
+            int attempts = ATTEMPTS_PER_ROUND / threads;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attempts; i++) {
+                    // Hour-long meetings on a half-hour grid over eight hours collide often
+                    Employee owner = employees.get(random.nextInt(EMPLOYEES));
+                    Employee participant = employees.get(random.nextInt(EMPLOYEES));
+                    LocalDateTime begin = day.atTime(9, 0).plusMinutes(30L * random.nextInt(16));
+                    List<Employee> participants = participant.getId().equals(owner.getId()) ? List.of()
+                            : List.of(participant);
+                    try {
+                        meetingService.bookMeeting(owner, begin, begin.plusHours(1), participants);
+                        accepted.incrementAndGet();
+                    } catch (ConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - began;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return elapsed;
+    }
+
+    // Check the committed calendars straight from the database, not from the in-memory index
+    private void assertNoOverlaps() {
+        List<Long> ids = new ArrayList<>();
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        Map<Long, List<AttendeeBusyInterval>> byEmployee = new HashMap<>();
+        for (AttendeeBusyInterval interval : meetingRepository.findBusyIntervalsByEmployeeIds(ids)) {
+            byEmployee.computeIfAbsent(interval.getEmployeeId(), id -> new ArrayList<>()).add(interval);
+        }
+
+        for (Map.Entry<Long, List<AttendeeBusyInterval>> calendar : byEmployee.entrySet()) {
+            List<AttendeeBusyInterval> intervals = calendar.getValue();
+            intervals.sort(Comparator.comparing(AttendeeBusyInterval::getStartTime));
+            for (int i = 1; i < intervals.size(); i++) {
+                assertTrue(!intervals.get(i).getStartTime().isBefore(intervals.get(i - 1).getEndTime()),
+                        "Employee " + calendar.getKey() + " is double-booked: " + intervals.get(i - 1) + " and "
+                                + intervals.get(i));
+            }
+        }
+    }
+}
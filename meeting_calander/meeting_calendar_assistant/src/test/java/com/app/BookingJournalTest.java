@@ -0,0 +1,323 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.custom_exceptions.ConflictException;
+import com.app.dto.CalendarPage;
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.journal.BookingEvent;
+import com.app.journal.BookingJournal;
+import com.app.journal.CalendarSnapshot;
+import com.app.journal.MappedJournal;
+import com.app.journal.MappedJournal.Entry;
+import com.app.repository.MeetingRepository;
+import com.app.service.EmployeeService;
+import com.app.service.MeetingCalendarIndex;
+import com.app.service.MeetingService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+class BookingJournalTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2031, 9, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testJournalSurvivesReopenAndGrowsItsMapping() throws IOException {
+        Path file = directory.resolve("bookings.journal");
+        long persisted;
+        try (MappedJournal journal = MappedJournal.open(file, 1024)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(booked(i, NINE.plusHours(i)));
+            }
+            persisted = journal.readFrom(0).get(49).getEnd();
+            journal.markPersisted(persisted);
+        }
+
+        try (MappedJournal journal = MappedJournal.open(file, 1024)) {
+            List<Entry> entries = journal.readFrom(0);
+            assertEquals(100, entries.size());
+            assertEquals(99, entries.get(99).getEvent().toMeeting().getId());
+            assertEquals(NINE.plusHours(99), entries.get(99).getEvent().toMeeting().getStartTime());
+            assertEquals(2, entries.get(0).getEvent().toMeeting().getParticipants().size());
+            assertEquals(2L, entries.get(0).getEvent().toMeeting().getParticipants().get(1).getId());
+            assertEquals(persisted, journal.persistedPosition());
+            assertEquals(50, journal.readFrom(persisted).size());
+        }
+    }
+
+    @Test
+    void testCompactionKeepsPositionsAndTheTailAcrossReopen() throws IOException {
+        Path file = directory.resolve("bookings.journal");
+        long cut;
+        try (MappedJournal journal = MappedJournal.open(file, 1024)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(booked(i, NINE.plusHours(i)));
+            }
+            cut = journal.readFrom(0).get(59).getEnd();
+            journal.markPersisted(cut);
+            long sizeBefore = Files.size(file);
+            journal.compact(cut);
+            assertTrue(Files.size(file) < sizeBefore);
+
+            List<Entry> entries = journal.readFrom(0);
+            assertEquals(40, entries.size());
+            assertEquals(60, entries.get(0).getEvent().toMeeting().getId());
+            assertEquals(cut, journal.start());
+            assertEquals(journal.end(), entries.get(39).getEnd());
+            // Positions go on from where they were, and the compacted file grows again
+            for (int i = 100; i < 200; i++) {
+                journal.append(booked(i, NINE.plusHours(i)));
+            }
+        }
+
+        try (MappedJournal journal = MappedJournal.open(file, 1024)) {
+            assertEquals(cut, journal.start());
+            assertEquals(cut, journal.persistedPosition());
+            List<Entry> entries = journal.readFrom(cut);
+            assertEquals(140, entries.size());
+            assertEquals(199, entries.get(139).getEvent().toMeeting().getId());
+            // A second compaction moves the start again; one behind it keeps everything
+            long next = entries.get(99).getEnd();
+            journal.compact(cut - 1);
+            assertEquals(140, journal.readFrom(0).size());
+            journal.compact(next);
+            assertEquals(next, journal.start());
+            assertEquals(40, journal.readFrom(next).size());
+        }
+    }
+
+    @Test
+    void testTornTailIsDroppedAndOverwritten() throws IOException {
+        Path file = directory.resolve("bookings.journal");
+        long firstEnd;
+        try (MappedJournal journal = MappedJournal.open(file, 4096)) {
+            firstEnd = journal.append(booked(1, NINE));
+            journal.append(booked(2, NINE.plusHours(1)));
+        }
+        // Corrupt the second record's payload, as a crash in the middle of writing it would
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(firstEnd + 20);
+            raw.write(0x7f);
+        }
+
+        try (MappedJournal journal = MappedJournal.open(file, 4096)) {
+            assertEquals(firstEnd, journal.end());
+            journal.append(booked(3, NINE.plusHours(2)));
+        }
+        try (MappedJournal journal = MappedJournal.open(file, 4096)) {
+            List<Entry> entries = journal.readFrom(0);
+            assertEquals(2, entries.size());
+            assertEquals(3, entries.get(1).getEvent().toMeeting().getId());
+        }
+    }
+
+    @Test
+    void testSnapshotRoundTripAndCorruption() throws IOException {
+        Path file = directory.resolve("calendar.snapshot");
+        new CalendarSnapshot(4242, Map.of(7L, new long[] { 1, 100, 160 }, 8L, new long[0])).write(file);
+
+        CalendarSnapshot snapshot = CalendarSnapshot.read(file);
+        assertEquals(4242, snapshot.getPosition());
+        assertEquals(List.of(1L, 100L, 160L), List.of(snapshot.getMeetings().get(7L)[0],
+                snapshot.getMeetings().get(7L)[1], snapshot.getMeetings().get(7L)[2]));
+        assertEquals(0, snapshot.getMeetings().get(8L).length);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 1;
+        Files.write(file, bytes);
+        assertNull(CalendarSnapshot.read(file));
+        assertNull(CalendarSnapshot.read(directory.resolve("missing")));
+    }
+
+    @Test
+    void testBookingsAreSunkAndRestoredAcrossRestarts() throws Exception {
+        String database = "journal_" + System.nanoTime();
+        Employee first;
+        Employee second;
+        Meeting meeting;
+        try (ConfigurableApplicationContext context = start(database, true)) {
+            EmployeeService employees = context.getBean(EmployeeService.class);
+            first = employees.createEmployee(new Employee("Journal A"));
+            second = employees.createEmployee(new Employee("Journal B"));
+            meeting = context.getBean(MeetingService.class).bookMeeting(first, NINE, NINE.plusHours(1),
+                    List.of(second));
+
+            // The row shows up once the sink has caught up
+            BookingJournal journal = context.getBean(BookingJournal.class);
+            for (int i = 0; i < 100 && journal.pendingCount() > 0; i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(context.getBean(MeetingRepository.class).findById(meeting.getId()).isPresent());
+        }
+
+        // Restored from the snapshot written on shutdown; the next booking is only journaled
+        Meeting unsunk;
+        try (ConfigurableApplicationContext context = start(database, false)) {
+            Map<Long, long[]> restored = context.getBean(MeetingCalendarIndex.class).loadedMeetings();
+            assertEquals(meeting.getId(), restored.get(first.getId())[0]);
+            assertEquals(meeting.getId(), restored.get(second.getId())[0]);
+            MeetingService meetings = context.getBean(MeetingService.class);
+            assertThrows(ConflictException.class,
+                    () -> meetings.bookMeeting(second, NINE.plusMinutes(30), NINE.plusHours(2), List.of()));
+            unsunk = meetings.bookMeeting(second, NINE.plusHours(1), NINE.plusHours(2), List.of());
+            assertTrue(context.getBean(MeetingRepository.class).findById(unsunk.getId()).isEmpty());
+        }
+
+        // Without a snapshot the projection is loaded from the database plus the unsunk tail,
+        // which the sink then writes
+        Files.delete(directory.resolve("calendar.snapshot"));
+        try (ConfigurableApplicationContext context = start(database, true)) {
+            MeetingService meetings = context.getBean(MeetingService.class);
+            assertThrows(ConflictException.class,
+                    () -> meetings.bookMeeting(second, NINE.plusMinutes(90), NINE.plusHours(3), List.of()));
+            BookingJournal journal = context.getBean(BookingJournal.class);
+            for (int i = 0; i < 100 && journal.pendingCount() > 0; i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(context.getBean(MeetingRepository.class).findById(unsunk.getId()).isPresent());
+
+            // Edits go through the database once the sink has written the meeting, and are journaled
+            meetings.rescheduleMeeting(meeting.getId(), NINE.plusHours(3), NINE.plusHours(4));
+            meetings.cancelMeeting(unsunk.getId());
+            assertTrue(context.getBean(MeetingRepository.class).findById(unsunk.getId()).isEmpty());
+        }
+
+        try (ConfigurableApplicationContext context = start(database, false)) {
+            MeetingService meetings = context.getBean(MeetingService.class);
+            meetings.bookMeeting(second, NINE, NINE.plusHours(2), List.of());
+            assertThrows(ConflictException.class,
+                    () -> meetings.bookMeeting(first, NINE.plusHours(3), NINE.plusHours(4), List.of()));
+        }
+    }
+
+    @Test
+    void testFullQueueRefusesBookingsAndDurableCallersWaitForTheSink() throws Exception {
+        String database = "journal_" + System.nanoTime();
+        Employee first;
+        Meeting unsunk;
+        // Without a sink there is nothing to wait for, and no bound
+        try (ConfigurableApplicationContext context = start(database, false,
+                "--meeting.journal.sink.queue-capacity=1")) {
+            first = context.getBean(EmployeeService.class).createEmployee(new Employee("Journal C"));
+            MeetingService meetings = context.getBean(MeetingService.class);
+            unsunk = meetings.bookMeeting(first, NINE, NINE.plusHours(1), List.of());
+            meetings.bookMeeting(first, NINE.plusHours(1), NINE.plusHours(2), List.of());
+            assertFalse(meetings.whenPersisted(unsunk).get());
+        }
+
+        try (ConfigurableApplicationContext context = start(database, true,
+                "--meeting.journal.sink.queue-capacity=1")) {
+            MeetingService meetings = context.getBean(MeetingService.class);
+            MeetingRepository repository = context.getBean(MeetingRepository.class);
+            assertTrue(meetings.whenPersisted(unsunk).get(10, TimeUnit.SECONDS));
+            assertTrue(repository.findById(unsunk.getId()).isPresent());
+
+            // With the table gone the sink keeps retrying, so one booking fills the queue
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            jdbc.execute("alter table meeting rename to meeting_parked");
+            Meeting queued = meetings.bookMeeting(first, NINE.plusHours(2), NINE.plusHours(3), List.of());
+            assertThrows(RejectedExecutionException.class,
+                    () -> meetings.bookMeeting(first, NINE.plusHours(3), NINE.plusHours(4), List.of()));
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertEquals(1.0, registry.get("meeting.journal.sink.queue").gauge().value());
+
+            // Bring the table back only once the sink has failed on it
+            Counter failures = registry.get("meeting.journal.sink.failures").counter();
+            for (int i = 0; i < 100 && failures.count() < 1; i++) {
+                Thread.sleep(50);
+            }
+            jdbc.execute("alter table meeting_parked rename to meeting");
+            assertTrue(meetings.whenPersisted(queued).get(10, TimeUnit.SECONDS));
+            assertTrue(repository.findById(queued.getId()).isPresent());
+            assertTrue(failures.count() >= 1);
+            assertTrue(registry.get("meeting.journal.sink.flush").timer().count() >= 2);
+            assertEquals(3.0, registry.get("meeting.journal.sink.batch").summary().totalAmount());
+            assertEquals(0.0, registry.get("meeting.journal.sink.queue").gauge().value());
+        }
+    }
+
+    @Test
+    void testSinklessBookingsAreReadFromTheJournalButNotEdited() throws Exception {
+        try (ConfigurableApplicationContext context = start("journal_" + System.nanoTime(), false)) {
+            EmployeeService employees = context.getBean(EmployeeService.class);
+            Employee owner = employees.createEmployee(new Employee("Journal D"));
+            Employee participant = employees.createEmployee(new Employee("Journal E"));
+            MeetingService meetings = context.getBean(MeetingService.class);
+            Meeting later = meetings.bookMeeting(owner, NINE.plusHours(2), NINE.plusHours(3), List.of(participant));
+            Meeting earlier = meetings.bookMeeting(owner, NINE, NINE.plusHours(1), List.of());
+            assertTrue(context.getBean(MeetingRepository.class).findById(later.getId()).isEmpty());
+
+            Meeting read = meetings.findMeeting(later.getId());
+            assertEquals("Journal D", read.getOwner().getName());
+            assertEquals("Journal E", read.getParticipants().get(0).getName());
+
+            // Merged into calendar pages in order, cursor included
+            CalendarPage first = meetings.getCalendar(participant.getId(), NINE, NINE.plusDays(1), null, 1);
+            assertEquals(later.getId(), first.getMeetings().get(0).getId());
+            assertNull(first.getNextCursor());
+            first = meetings.getCalendar(owner.getId(), NINE, NINE.plusDays(1), null, 1);
+            assertEquals(earlier.getId(), first.getMeetings().get(0).getId());
+            assertEquals("Journal D", first.getMeetings().get(0).getOwnerName());
+            CalendarPage second = meetings.getCalendar(owner.getId(), NINE, NINE.plusDays(1), first.getNextCursor(), 1);
+            assertEquals(later.getId(), second.getMeetings().get(0).getId());
+            assertNull(second.getNextCursor());
+
+            // Nothing will ever write them, so edits are refused for good instead of "retry later"
+            ConflictException refused = assertThrows(ConflictException.class,
+                    () -> meetings.cancelMeeting(later.getId()));
+            assertTrue(refused.getMessage().contains("meeting.journal.sink.enabled=false"));
+            assertThrows(ConflictException.class,
+                    () -> meetings.rescheduleMeeting(earlier.getId(), NINE.plusHours(4), NINE.plusHours(5)));
+        }
+    }
+
+    private static BookingEvent booked(long id, LocalDateTime start) {
+        Meeting meeting = new Meeting(start, start.plusMinutes(30), employee(10), List.of(employee(1), employee(2)));
+        meeting.setId(id);
+        return BookingEvent.of(meeting, false);
+    }
+
+    private static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+
+    private ConfigurableApplicationContext start(String database, boolean sink, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--meeting.journal.enabled=true",
+                "--meeting.journal.directory=" + directory,
+                "--meeting.journal.grow-by-mb=1",
+                "--meeting.journal.sink.enabled=" + sink));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(Application.class).run(args.toArray(new String[0]));
+    }
+}
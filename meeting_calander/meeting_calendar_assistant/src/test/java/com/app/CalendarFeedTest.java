@@ -0,0 +1,209 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.dto.CalendarChange;
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.feed.CalendarFeed;
+import com.app.service.EmployeeService;
+import com.app.service.MeetingCalendarIndex;
+import com.app.service.MeetingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Calendar changes pushed over Server-Sent Events, and the bounded per-subscriber buffer
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CalendarFeedTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2031, 10, 6, 9, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testSubscribersReceiveBookingsOfTheirEmployeesOnly() throws IOException {
+        Employee watched = employeeService.createEmployee(new Employee("Feed A"));
+        Employee other = employeeService.createEmployee(new Employee("Feed B"));
+        HttpURLConnection connection = subscribe(watched.getId(), null);
+        try (BufferedReader events = reader(connection)) {
+            assertEquals(":subscribed", nextEvent(events).get(1));
+            meetingService.bookMeeting(other, NINE, NINE.plusHours(1), List.of());
+            meetingService.bookMeeting(other, NINE.plusHours(2), NINE.plusHours(3), List.of(watched));
+
+            List<String> event = nextEvent(events);
+            assertEquals("event:BOOKED", event.get(1));
+            JsonNode change = objectMapper.readTree(event.get(2).substring("data:".length()));
+            assertEquals("2031-10-06T11:00:00", change.get("startTime").asText());
+            assertEquals(List.of(other.getId(), watched.getId()),
+                    List.of(change.get("employeeIds").get(0).asLong(), change.get("employeeIds").get(1).asLong()));
+        } finally {
+            connection.disconnect();
+        }
+
+        // Reconnecting after missing changes starts with a resync
+        connection = subscribe(watched.getId(), "0");
+        try (BufferedReader events = reader(connection)) {
+            nextEvent(events);
+            assertEquals("event:RESYNC", nextEvent(events).get(1));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    void testEditsReachCurrentAndRemovedAttendees() throws IOException, InterruptedException {
+        Employee owner = employeeService.createEmployee(new Employee("Feed C"));
+        Employee watched = employeeService.createEmployee(new Employee("Feed D"));
+        Meeting meeting = meetingService.bookMeeting(owner, NINE.plusDays(1), NINE.plusDays(1).plusHours(1),
+                List.of(watched));
+        HttpURLConnection connection = subscribe(watched.getId(), null);
+        try (BufferedReader events = reader(connection)) {
+            nextEvent(events);
+            assertEquals(200, edit("PUT", "/" + meeting.getId() + "/time",
+                    "{\"startTime\":\"2031-10-07T10:00:00\",\"endTime\":\"2031-10-07T11:00:00\"}"));
+            List<String> event = nextEvent(events);
+            assertEquals("event:UPDATED", event.get(1));
+            assertEquals("2031-10-07T10:00:00",
+                    objectMapper.readTree(event.get(2).substring("data:".length())).get("startTime").asText());
+
+            // Taken off the meeting, the participant still hears about it
+            assertEquals(200, edit("PATCH", "/" + meeting.getId() + "/participants", "{\"remove\":[\"Feed D\"]}"));
+            JsonNode change = objectMapper.readTree(nextEvent(events).get(2).substring("data:".length()));
+            assertEquals(watched.getId(), change.get("removedEmployeeIds").get(0).asLong());
+            assertEquals(1, change.get("employeeIds").size());
+        } finally {
+            connection.disconnect();
+        }
+        assertEquals(404, edit("PATCH", "/" + meeting.getId() + "/participants", "{\"add\":[\"Nobody\"]}"));
+        assertEquals(400, edit("PUT", "/" + meeting.getId() + "/time",
+                "{\"startTime\":\"2031-10-07T11:00:00\",\"endTime\":\"2031-10-07T10:00:00\"}"));
+        assertEquals(204, edit("DELETE", "/" + meeting.getId(), null));
+        assertEquals(404, edit("DELETE", "/" + meeting.getId(), null));
+    }
+
+    @Test
+    void testOverflowingSubscriberIsResyncedInsteadOfBuffered() {
+        List<Runnable> tasks = new ArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CalendarFeed feed = new CalendarFeed(new MeetingCalendarIndex(null, null, null), tasks::add, registry, 2, 0);
+        feed.subscribe(List.of(1L), null);
+
+        for (int i = 0; i < 5; i++) {
+            feed.publish(new CalendarChange(CalendarChange.Type.BOOKED, (long) i, null, NINE, NINE.plusHours(1),
+                    List.of(1L, 2L)));
+        }
+        feed.publish(new CalendarChange(CalendarChange.Type.BOOKED, 9L, null, NINE, NINE.plusHours(1), List.of(2L)));
+
+        // One drain pending however many changes arrived; the third overflowed the buffer of two
+        // and was dropped with the two before it, the next two fit again
+        assertEquals(1, tasks.size());
+        assertEquals(1.0, registry.counter("meeting.feed.resyncs").count());
+        tasks.get(0).run();
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    void testChangePublishedWhileSubscribingIsDeliveredAfterTheSubscribedComment() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> sent = new ArrayList<>();
+        CalendarFeed[] feed = new CalendarFeed[1];
+        feed[0] = new CalendarFeed(new MeetingCalendarIndex(null, null, null), tasks::add, new SimpleMeterRegistry(),
+                8, 0) {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMillis) {
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        StringBuilder event = new StringBuilder();
+                        builder.build().forEach(part -> event.append(part.getData()));
+                        sent.add(event.toString());
+                        // A booking commits while the subscribed comment is being written
+                        if (sent.size() == 1) {
+                            feed[0].publish(new CalendarChange(CalendarChange.Type.BOOKED, 7L, null, NINE,
+                                    NINE.plusHours(1), List.of(1L)));
+                        }
+                    }
+                };
+            }
+        };
+
+        feed[0].subscribe(List.of(1L), null);
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains(":subscribed"), sent.get(0));
+        assertTrue(sent.get(1).contains("event:BOOKED"), sent.get(1));
+    }
+
+    private HttpURLConnection subscribe(Long employeeId, String lastEventId) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://localhost:" + port + "/api/meetings/changes?employeeIds=" + employeeId).openConnection();
+        connection.setRequestProperty("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            connection.setRequestProperty("Last-Event-ID", lastEventId);
+        }
+        connection.setReadTimeout(10_000);
+        assertEquals(200, connection.getResponseCode());
+        assertTrue(connection.getContentType().startsWith("text/event-stream"), connection.getContentType());
+        return connection;
+    }
+
+    private int edit(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/meetings" + path));
+        if (json == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static BufferedReader reader(HttpURLConnection connection) throws IOException {
+        return new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    // Lines of the next event, up to the blank line ending it
+    private static List<String> nextEvent(BufferedReader events) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line = events.readLine(); line != null && !line.isEmpty(); line = events.readLine()) {
+            lines.add(line);
+        }
+        return lines;
+    }
+}
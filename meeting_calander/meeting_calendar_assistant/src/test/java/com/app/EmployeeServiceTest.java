@@ -0,0 +1,105 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.custom_exceptions.NotFoundException;
+import com.app.entities.Employee;
+import com.app.repository.EmployeeRepository;
+import com.app.service.EmployeeService;
+
+@SpringBootTest
+class EmployeeServiceTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    private Employee john;
+    private Employee jane;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        john = new Employee("John Doe");
+        john.setId(1L);
+        jane = new Employee("Jane Doe");
+        jane.setId(2L);
+        when(employeeRepository.findByName("John Doe")).thenReturn(Optional.of(john));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(john));
+        when(employeeRepository.save(any(Employee.class))).then(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testFindByNameIsCached() {
+        employeeService.findByName("John Doe");
+        employeeService.findByName("John Doe");
+
+        verify(employeeRepository, times(1)).findByName("John Doe");
+    }
+
+    @Test
+    void testFindByNamesLoadsOnlyMissesInOneQuery() {
+        employeeService.findByName("John Doe");
+        when(employeeRepository.findByNameIn(List.of("Jane Doe"))).thenReturn(List.of(jane));
+
+        List<Employee> employees = employeeService.findByNames(List.of("John Doe", "Jane Doe", "John Doe"));
+        employeeService.findByNames(List.of("Jane Doe"));
+
+        assertEquals(List.of(john, jane), employees);
+        verify(employeeRepository, times(1)).findByNameIn(anyList());
+    }
+
+    @Test
+    void testUpdateEmployeeEvictsOldName() {
+        employeeService.findByName("John Doe");
+
+        Employee renamed = new Employee("Johnny Doe");
+        employeeService.updateEmployee(1L, renamed);
+        when(employeeRepository.findByName("John Doe")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> employeeService.findByName("John Doe"));
+        verify(employeeRepository, times(2)).findByName("John Doe");
+    }
+
+    @Test
+    void testLookupsDuringAnUpdateAreNotLeftCachedAfterItCommits() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeService.updateEmployee(1L, new Employee("Johnny Doe"));
+            // A lookup that still sees the old row before the commit caches it
+            employeeService.findByName("John Doe");
+            employeeService.findEmployeeById(1L);
+        });
+
+        assertNull(cacheManager.getCache(EmployeeService.EMPLOYEES_BY_NAME).get("John Doe"));
+        assertNull(cacheManager.getCache(EmployeeService.EMPLOYEES_BY_ID).get(1L));
+    }
+}
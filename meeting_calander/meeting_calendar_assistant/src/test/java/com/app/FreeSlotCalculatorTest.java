@@ -0,0 +1,149 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.service.DayBitsets;
+import com.app.service.FreeSlotCalculator;
+import com.app.service.FreeSlotIterator;
+
+class FreeSlotCalculatorTest {
+
+    @Test
+    void testMergeBusyTimesAcrossCalendars() {
+        long[][] calendars = {
+                { 0, 30, 100, 130 },
+                { 15, 45, 45, 60, 200, 210 },
+                {},
+                { 120, 150 } };
+
+        long[] merged = FreeSlotCalculator.mergeBusyTimes(calendars);
+
+        assertArrayEquals(new long[] { 0, 60, 100, 150, 200, 210 }, merged);
+    }
+
+    @Test
+    void testMergeBusyTimesWithNoMeetings() {
+        assertArrayEquals(new long[0], FreeSlotCalculator.mergeBusyTimes(new long[][] { {}, {} }));
+    }
+
+    @Test
+    void testFindFreeTimeSlotsStepsInsideEachGap() {
+        long[] merged = { 0, 60, 100, 150 };
+
+        long[] slots = FreeSlotCalculator.findFreeTimeSlots(merged, 0, 200, 30, 10, FreeSlotCalculator.ANY_TIME,
+                FreeSlotCalculator.ANY_TIME);
+
+        assertArrayEquals(new long[] { 60, 70, 150, 160, 170 }, slots);
+    }
+
+    @Test
+    void testFindFreeTimeSlotsHonoursWorkingHoursOnEveryDay() {
+        long day = 24 * 60;
+
+        // Free for two whole days, working hours 09:00-10:00
+        long[] slots = FreeSlotCalculator.findFreeTimeSlots(new long[0], 0, 2 * day, 30, 30, 9 * 60, 10 * 60);
+
+        assertArrayEquals(new long[] { 540, 570, day + 540, day + 570 }, slots);
+    }
+
+    @Test
+    void testSlotIteratorMatchesTheWholeRangeAcrossChunks() {
+        long day = 24 * 60;
+        Random random = new Random(7);
+        long[] merged = new long[400];
+        long time = 0;
+        for (int i = 0; i < merged.length; i += 2) {
+            time += random.nextInt(600);
+            merged[i] = time;
+            time += 1 + random.nextInt(300);
+            merged[i + 1] = time;
+        }
+        long to = time + day;
+
+        for (int[] hours : new int[][] { { FreeSlotCalculator.ANY_TIME, FreeSlotCalculator.ANY_TIME },
+                { 9 * 60, 17 * 60 } }) {
+            long[] expected = FreeSlotCalculator.findFreeTimeSlots(merged, 0, to, 45, 20, hours[0], hours[1]);
+            for (long chunk : new long[] { 7, 600, day, 7 * day }) {
+                FreeSlotIterator slots = new FreeSlotIterator((from, until) -> overlapping(merged, from, until), 0,
+                        to, chunk, 45, 20, hours[0], hours[1]);
+                assertArrayEquals(expected, LongStream.generate(slots::nextLong).limit(expected.length).toArray());
+                assertFalse(slots.hasNext());
+            }
+        }
+    }
+
+    @Test
+    void testSlotIteratorOnlyLoadsTheChunksItNeeds() {
+        long day = 24 * 60;
+        AtomicInteger loads = new AtomicInteger();
+        FreeSlotIterator slots = new FreeSlotIterator((from, until) -> {
+            loads.incrementAndGet();
+            return new long[] { from, from + 60 };
+        }, 0, 90 * day, day, 30, 30, FreeSlotCalculator.ANY_TIME, FreeSlotCalculator.ANY_TIME);
+
+        assertArrayEquals(new long[] { 60, 90, 120 }, new long[] { slots.nextLong(), slots.nextLong(), slots.nextLong() });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testBitsetEngineMatchesTheIntervalMerge() {
+        long day = 24 * 60;
+        Random random = new Random(11);
+        long[][] calendars = new long[3][];
+        for (int c = 0; c < calendars.length; c++) {
+            calendars[c] = new long[200];
+            long time = day;
+            for (int i = 0; i < calendars[c].length; i += 2) {
+                time += random.nextInt(900);
+                calendars[c][i] = time;
+                time += 1 + random.nextInt(400);
+                calendars[c][i + 1] = time;
+            }
+        }
+        long[] merged = FreeSlotCalculator.mergeBusyTimes(calendars);
+        long from = day + 437;
+        long to = merged[merged.length - 1] + 2 * day + 61;
+
+        for (int[] hours : new int[][] { { FreeSlotCalculator.ANY_TIME, FreeSlotCalculator.ANY_TIME },
+                { 9 * 60, 17 * 60 } }) {
+            long[] expected = FreeSlotCalculator.findFreeTimeSlots(merged, from, to, 45, 20, hours[0], hours[1]);
+            long[] slots = DayBitsets.findFreeTimeSlots(d -> {
+                long[][] days = new long[calendars.length][];
+                for (int c = 0; c < days.length; c++) {
+                    days[c] = DayBitsets.of(overlapping(calendars[c], d * day, (d + 1) * day), d, 1);
+                }
+                return DayBitsets.union(days);
+            }, 1, from, to, 45, 20, hours[0], hours[1]);
+            assertArrayEquals(expected, slots);
+        }
+    }
+
+    @Test
+    void testBitsetQuantumRoundsBusyTimeOutward() {
+        // 10:10-10:20 blocks the whole 10:00-10:30 quarter pair
+        long[] busy = DayBitsets.of(new long[] { 610, 620 }, 0, 15);
+
+        long[] slots = DayBitsets.findFreeTimeSlots(d -> busy, 15, 9 * 60, 12 * 60, 30, 30,
+                FreeSlotCalculator.ANY_TIME, FreeSlotCalculator.ANY_TIME);
+
+        assertArrayEquals(new long[] { 540, 570, 630, 660, 690 }, slots);
+    }
+
+    // Intervals of `merged` overlapping [from, to), the way the calendar index answers per chunk
+    private static long[] overlapping(long[] merged, long from, long to) {
+        return IntStream.range(0, merged.length / 2)
+                .filter(i -> merged[2 * i] < to && merged[2 * i + 1] > from)
+                .boxed()
+                .flatMapToLong(i -> LongStream.of(merged[2 * i], merged[2 * i + 1]))
+                .toArray();
+    }
+}
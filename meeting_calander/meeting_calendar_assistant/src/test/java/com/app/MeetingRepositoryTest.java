@@ -0,0 +1,122 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dto.AttendeeBusyInterval;
+import com.app.dto.MeetingSummary;
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.repository.EmployeeRepository;
+import com.app.repository.MeetingRepository;
+
+// Runs against the schema built by the Flyway scripts, so the day-bucket columns and indexes are
+// the ones production uses
+@SpringBootTest
+@Transactional
+class MeetingRepositoryTest {
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void testOverlapQueriesFindMeetingsStartingDaysBeforeTheWindow() {
+        Employee owner = employeeRepository.save(new Employee("Overlap Owner"));
+        Employee participant = employeeRepository.save(new Employee("Overlap Participant"));
+        LocalDateTime day = LocalDateTime.of(2032, 5, 10, 0, 0);
+
+        // A three-day offsite that started before the window, one meeting inside it and one after
+        Meeting offsite = meetingRepository.save(new Meeting(day.minusDays(2).withHour(9), day.plusHours(12), owner,
+                List.of(participant)));
+        Meeting inside = meetingRepository.save(new Meeting(day.withHour(14), day.withHour(15), participant,
+                List.of(owner)));
+        meetingRepository.save(new Meeting(day.plusDays(1).withHour(9), day.plusDays(1).withHour(10), owner,
+                List.of()));
+        meetingRepository.flush();
+
+        assertEquals(2, (int) offsite.getSpanDays());
+
+        List<Long> ownerMeetings = overlapping(owner.getId(), day.withHour(10), day.plusDays(1));
+        assertEquals(List.of(offsite.getId(), inside.getId()), ownerMeetings);
+
+        List<Long> participantMeetings = overlapping(participant.getId(), day.withHour(11), day.withHour(14));
+        assertEquals(List.of(offsite.getId()), participantMeetings);
+
+        // Both attendees in one query, each tagged once with the offsite that began two days earlier
+        int today = (int) day.toLocalDate().toEpochDay();
+        List<AttendeeBusyInterval> both = meetingRepository.findOverlappingByEmployeeIds(
+                List.of(owner.getId(), participant.getId()), day.withHour(11), day.withHour(14), today, today);
+        assertEquals(2, both.size());
+        for (AttendeeBusyInterval interval : both) {
+            assertEquals(offsite.getId(), interval.getMeetingId());
+            assertEquals(offsite.getStartTime(), interval.getStartTime());
+        }
+
+        // Back-to-back with the end of the window does not overlap
+        assertEquals(List.of(), overlapping(participant.getId(), day.withHour(15), day.withHour(16)));
+    }
+
+    @Test
+    void testCalendarPagesMergeOwnedAndParticipatedMeetingsInKeysetOrder() {
+        Employee owner = employeeRepository.save(new Employee("Calendar Owner"));
+        Employee guest = employeeRepository.save(new Employee("Calendar Guest"));
+        LocalDateTime day = LocalDateTime.of(2032, 6, 14, 0, 0);
+
+        // Owned, participated, owned with the owner also listed, and two at the same time
+        Meeting offsite = meetingRepository.save(new Meeting(day.minusDays(2).withHour(9), day.withHour(12), owner,
+                List.of()));
+        Meeting invited = meetingRepository.save(new Meeting(day.withHour(10), day.withHour(11), guest,
+                List.of(owner)));
+        Meeting both = meetingRepository.save(new Meeting(day.withHour(13), day.withHour(14), owner,
+                List.of(owner, guest)));
+        Meeting sameTime = meetingRepository.save(new Meeting(day.withHour(13), day.withHour(15), guest,
+                List.of(owner)));
+        meetingRepository.save(new Meeting(day.plusDays(1).withHour(9), day.plusDays(1).withHour(10), owner,
+                List.of()));
+        meetingRepository.flush();
+
+        LocalDateTime to = day.plusDays(1);
+        List<MeetingSummary> first = meetingRepository.findCalendarPage(owner.getId(), day, to, PageRequest.of(0, 2));
+        assertEquals(List.of(offsite.getId(), invited.getId()), summaryIds(first));
+        assertEquals("Calendar Guest", first.get(1).getOwnerName());
+
+        MeetingSummary last = first.get(1);
+        List<MeetingSummary> rest = meetingRepository.findCalendarPageAfter(owner.getId(), day, to,
+                last.getStartTime(), last.getId(), PageRequest.of(0, 10));
+        assertEquals(List.of(both.getId(), sameTime.getId()), summaryIds(rest));
+    }
+
+    private static List<Long> summaryIds(List<MeetingSummary> summaries) {
+        List<Long> ids = new ArrayList<>();
+        for (MeetingSummary summary : summaries) {
+            ids.add(summary.getId());
+        }
+        return ids;
+    }
+
+    // Ids of the employee's meetings overlapping [start, end), by start time
+    private List<Long> overlapping(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        List<AttendeeBusyInterval> meetings = new ArrayList<>(meetingRepository.findOverlappingByEmployeeIds(
+                List.of(employeeId), start, end, (int) start.toLocalDate().toEpochDay(),
+                (int) end.toLocalDate().toEpochDay()));
+        meetings.sort(Comparator.comparing(AttendeeBusyInterval::getStartTime));
+        List<Long> ids = new ArrayList<>();
+        for (AttendeeBusyInterval meeting : meetings) {
+            ids.add(meeting.getMeetingId());
+        }
+        return ids;
+    }
+}
@@ -1,31 +1,76 @@
 package com.app;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.app.custom_exceptions.ConflictException;
+import com.app.custom_exceptions.NotFoundException;
+import com.app.datasource.ReadYourWrites;
+import com.app.dto.AttendeeBusyInterval;
+import com.app.dto.AvailabilityHeatmap;
+import com.app.dto.BatchBookingResult;
+import com.app.dto.BusyInterval;
+import com.app.dto.CalendarPage;
+import com.app.dto.MeetingRequest;
+import com.app.dto.MeetingSuggestion;
+import com.app.dto.MeetingSummary;
 import com.app.entities.Employee;
 import com.app.entities.Meeting;
+import com.app.entities.MeetingSeries;
 import com.app.repository.EmployeeRepository;
 import com.app.repository.MeetingRepository;
+import com.app.repository.MeetingSeriesRepository;
+import com.app.metrics.MeetingMetrics;
+import com.app.service.EmployeeLocks;
+import com.app.service.EpochMinutes;
+import com.app.service.FreeSlotCache;
+import com.app.service.MeetingCalendarIndex;
 import com.app.service.MeetingService;
 
 class MeetingServiceTest {
@@ -39,9 +84,51 @@ class MeetingServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private MeetingSeriesRepository seriesRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final Map<Long, List<BusyInterval>> calendars = new HashMap<>();
+
+    private Cache<Object, Object> freeSlotResults;
+
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        freeSlotResults = Caffeine.newBuilder().recordStats().build();
+        FreeSlotCache freeSlotCache = new FreeSlotCache(freeSlotResults);
+        ReflectionTestUtils.setField(meetingService, "freeSlotCache", freeSlotCache);
+        ReflectionTestUtils.setField(meetingService, "employeeLocks", new EmployeeLocks(16));
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(meetingService, "metrics", new MeetingMetrics(meterRegistry));
+        ReflectionTestUtils.setField(meetingService, "readYourWrites", new ReadYourWrites(false, 0));
+        ReflectionTestUtils.setField(meetingService, "heatmapPool", ForkJoinPool.commonPool());
+        ReflectionTestUtils.setField(meetingService, "calendarIndex",
+                new MeetingCalendarIndex(meetingRepository, seriesRepository, freeSlotCache));
+        AtomicLong ids = new AtomicLong(100);
+        when(meetingRepository.save(any(Meeting.class))).thenAnswer(invocation -> {
+            Meeting meeting = invocation.getArgument(0);
+            meeting.setId(ids.incrementAndGet());
+            return meeting;
+        });
+        when(meetingRepository.findBusyIntervalsByEmployeeIds(anyCollection())).thenAnswer(invocation -> {
+            List<AttendeeBusyInterval> result = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                for (BusyInterval interval : calendars.getOrDefault(id, List.of())) {
+                    result.add(new AttendeeBusyInterval(id, interval.getMeetingId(), interval.getStartTime(),
+                            interval.getEndTime()));
+                }
+            }
+            return result;
+        });
+    }
+
+    private void givenCalendar(Long employeeId, List<BusyInterval> meetings) {
+        calendars.put(employeeId, meetings);
     }
 
     @Test
@@ -55,8 +142,7 @@ class MeetingServiceTest {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
         
         // No conflicting meetings for the owner
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(any(Employee.class), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(new ArrayList<>());
+        givenCalendar(1L, new ArrayList<>());
 
         // Create participants
         Employee participant1 = new Employee();
@@ -74,8 +160,8 @@ class MeetingServiceTest {
         LocalDateTime end = start.plusHours(1);
 
         // No conflicts for participants
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(participant1, start, end)).thenReturn(new ArrayList<>());
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(participant2, start, end)).thenReturn(new ArrayList<>());
+        givenCalendar(2L, new ArrayList<>());
+        givenCalendar(3L, new ArrayList<>());
 
         // Test booking the meeting
         Meeting meeting = meetingService.bookMeeting(owner, start, end, participants);
@@ -101,8 +187,7 @@ class MeetingServiceTest {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
         
         // Mock a conflict with an existing meeting for the owner
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(any(Employee.class), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(new Meeting(LocalDateTime.now(), LocalDateTime.now().plusHours(2), owner, new ArrayList<>())));
+        givenCalendar(1L, List.of(new BusyInterval(10L, LocalDateTime.now(), LocalDateTime.now().plusHours(2))));
 
         // Create participants
         Employee participant1 = new Employee();
@@ -136,13 +221,13 @@ class MeetingServiceTest {
         emp2.setName("Jane Smith");
 
         // Mock meetings for emp1 and emp2
-        List<Meeting> emp1Meetings = List.of(
-                new Meeting(LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2), emp1, new ArrayList<>()));
-        List<Meeting> emp2Meetings = List.of(
-                new Meeting(LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4), emp2, new ArrayList<>()));
+        List<BusyInterval> emp1Meetings = List.of(
+                new BusyInterval(10L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2)));
+        List<BusyInterval> emp2Meetings = List.of(
+                new BusyInterval(11L, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4)));
 
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(emp1, any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(emp1Meetings);
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(emp2, any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(emp2Meetings);
+        givenCalendar(1L, emp1Meetings);
+        givenCalendar(2L, emp2Meetings);
 
         Duration duration = Duration.ofHours(1);
         LocalDateTime start = LocalDateTime.now();
@@ -178,8 +263,7 @@ class MeetingServiceTest {
         Meeting newMeeting = new Meeting(start, end, owner, participants);
 
         // Mock participant1 having a conflicting meeting
-        when(meetingRepository.findAllByOwnerAndStartTimeBetween(participant1, start, end))
-                .thenReturn(List.of(new Meeting(start, end.plusMinutes(30), participant1, new ArrayList<>())));
+        givenCalendar(2L, List.of(new BusyInterval(10L, start, end.plusMinutes(30))));
 
         // Check for participants with conflicts
         List<Employee> conflictingParticipants = meetingService.findParticipantsWithConflicts(newMeeting);
@@ -187,4 +271,601 @@ class MeetingServiceTest {
         assertTrue(conflictingParticipants.contains(participant1));
         assertFalse(conflictingParticipants.contains(participant2));
     }
+
+    @Test
+    void testConflictWithMeetingStartingBeforeWindow() {
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+        LocalDateTime end = start.plusHours(1);
+
+        // Existing meeting starts before the requested window and runs into it
+        givenCalendar(1L, List.of(new BusyInterval(10L, start.minusMinutes(30), start.plusMinutes(15))));
+
+        assertThrows(ConflictException.class, () -> meetingService.bookMeeting(owner, start, end, List.of()));
+    }
+
+    @Test
+    void testBookedMeetingIsIndexedForLaterChecks() {
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
+
+        Employee participant = new Employee();
+        participant.setId(2L);
+        participant.setName("Jane Doe");
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+        LocalDateTime end = start.plusHours(1);
+        meetingService.bookMeeting(owner, start, end, List.of(participant));
+
+        // The participant is now busy, even though they do not own the meeting
+        Meeting overlapping = new Meeting(start.plusMinutes(30), end.plusMinutes(30), owner, List.of(participant));
+        assertTrue(meetingService.findParticipantsWithConflicts(overlapping).contains(participant));
+
+        // Back-to-back meetings do not overlap
+        Meeting adjacent = new Meeting(end, end.plusHours(1), owner, List.of(participant));
+        assertTrue(meetingService.findParticipantsWithConflicts(adjacent).isEmpty());
+
+        // All cold timelines are loaded from the repository in a single batch
+        verify(meetingRepository, times(1)).findBusyIntervalsByEmployeeIds(anyCollection());
+    }
+
+    @Test
+    void testBookMeetingReportsAllConflictingParticipants() {
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
+
+        Employee participant1 = new Employee();
+        participant1.setId(2L);
+        participant1.setName("Jane Doe");
+
+        Employee participant2 = new Employee();
+        participant2.setId(3L);
+        participant2.setName("Bob Smith");
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+        LocalDateTime end = start.plusHours(1);
+        givenCalendar(2L, List.of(new BusyInterval(10L, start, end)));
+        givenCalendar(3L, List.of(new BusyInterval(11L, start.plusMinutes(30), end.plusMinutes(30))));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> meetingService.bookMeeting(owner, start, end, List.of(participant1, participant2)));
+        assertEquals("Participants Jane Doe, Bob Smith have a meeting conflict", exception.getMessage());
+        assertEquals(List.of("Jane Doe", "Bob Smith"), exception.getConflictingAttendees());
+    }
+
+    @Test
+    void testFindParticipantsWithConflictsUsesOneBatchedQueryWithoutIndex() {
+        ReflectionTestUtils.setField(meetingService, "conflictIndexEnabled", false);
+
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+
+        List<Employee> participants = new ArrayList<>();
+        for (long id = 2; id <= 31; id++) {
+            Employee participant = new Employee();
+            participant.setId(id);
+            participant.setName("Participant " + id);
+            participants.add(participant);
+        }
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+        LocalDateTime end = start.plusHours(1);
+        when(meetingRepository.findOverlappingByEmployeeIds(anyCollection(), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyInt(), anyInt()))
+                .thenReturn(List.of(new AttendeeBusyInterval(5L, 10L, start, end),
+                        new AttendeeBusyInterval(7L, 11L, start, end)));
+
+        List<Employee> conflicting = meetingService.findParticipantsWithConflicts(new Meeting(start, end, owner, participants));
+
+        assertEquals(List.of(participants.get(3), participants.get(5)), conflicting);
+        verify(meetingRepository, times(1)).findOverlappingByEmployeeIds(anyCollection(), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyInt(), anyInt());
+    }
+
+    @Test
+    void testFindFreeSlotsForManyEmployeesWithinWorkingHours() {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName("Employee " + id);
+            employees.add(employee);
+        }
+
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        givenCalendar(1L, List.of(new BusyInterval(10L, day.atTime(9, 0), day.atTime(9, 30))));
+        givenCalendar(2L, List.of(new BusyInterval(11L, day.atTime(10, 0), day.atTime(10, 30))));
+        givenCalendar(3L, List.of(new BusyInterval(12L, day.atTime(9, 15), day.atTime(9, 45))));
+
+        List<LocalDateTime> freeSlots = meetingService.findFreeSlots(employees, Duration.ofHours(1),
+                Duration.ofMinutes(30), day.atStartOfDay(), day.plusDays(1).atStartOfDay(), LocalTime.of(9, 0),
+                LocalTime.of(12, 0));
+
+        assertEquals(List.of(day.atTime(10, 30), day.atTime(11, 0)), freeSlots);
+        // Half a window is refused rather than read as no working hours
+        assertThrows(IllegalArgumentException.class, () -> meetingService.findFreeSlots(employees,
+                Duration.ofHours(1), Duration.ofMinutes(30), day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                LocalTime.of(9, 0), null));
+    }
+
+    @Test
+    void testStreamFreeSlotsOverAQuarterStopsAtTheLimit() {
+        Employee first = new Employee();
+        first.setId(1L);
+        first.setName("John Doe");
+        Employee second = new Employee();
+        second.setId(2L);
+        second.setName("Jane Doe");
+
+        // Both are busy every morning of the first week; the second one also on day ten
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        List<BusyInterval> mornings = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            mornings.add(new BusyInterval(10L + i, day.plusDays(i).atTime(9, 0), day.plusDays(i).atTime(12, 0)));
+        }
+        givenCalendar(1L, mornings);
+        givenCalendar(2L, List.of(new BusyInterval(20L, day.plusDays(10).atTime(9, 0), day.plusDays(10).atTime(17, 0))));
+
+        List<LocalDateTime> slots = meetingService.streamFreeSlots(List.of(first, second), Duration.ofHours(2),
+                Duration.ofHours(2), day.atStartOfDay(), day.plusDays(90).atStartOfDay(), LocalTime.of(9, 0),
+                LocalTime.of(17, 0)).limit(5).collect(Collectors.toList());
+
+        assertEquals(List.of(day.atTime(12, 0), day.atTime(14, 0), day.plusDays(1).atTime(12, 0),
+                day.plusDays(1).atTime(14, 0), day.plusDays(2).atTime(12, 0)), slots);
+        // The same slots as the eager search over the whole range
+        assertEquals(meetingService.findFreeSlots(List.of(first, second), Duration.ofHours(2), Duration.ofHours(2),
+                day.atStartOfDay(), day.plusDays(90).atStartOfDay(), LocalTime.of(9, 0), LocalTime.of(17, 0)),
+                meetingService.streamFreeSlots(List.of(first, second), Duration.ofHours(2), Duration.ofHours(2),
+                        day.atStartOfDay(), day.plusDays(90).atStartOfDay(), LocalTime.of(9, 0), LocalTime.of(17, 0))
+                        .collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> meetingService.streamFreeSlots(List.of(first, second),
+                Duration.ofHours(2), Duration.ofHours(2), day.atStartOfDay(), day.plusDays(90).atStartOfDay(), null,
+                LocalTime.of(17, 0)));
+    }
+
+    @Test
+    void testGetCalendarPagesWithKeysetCursor() {
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 7, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+
+        List<MeetingSummary> firstPage = List.of(
+                new MeetingSummary(10L, from.plusHours(9), from.plusHours(10), 1L, "John Doe"),
+                new MeetingSummary(11L, from.plusHours(11), from.plusHours(12), 2L, "Jane Doe"),
+                new MeetingSummary(12L, from.plusHours(13), from.plusHours(14), 1L, "John Doe"));
+        when(meetingRepository.findCalendarPage(eq(1L), eq(from), eq(to), any(Pageable.class))).thenReturn(firstPage);
+
+        CalendarPage page = meetingService.getCalendar(1L, from, to, null, 2);
+
+        assertEquals(firstPage.subList(0, 2), page.getMeetings());
+        assertNotNull(page.getNextCursor());
+
+        // The cursor resumes right after the last meeting returned
+        when(meetingRepository.findCalendarPageAfter(eq(1L), eq(from), eq(to), eq(from.plusHours(11)), eq(11L),
+                any(Pageable.class))).thenReturn(firstPage.subList(2, 3));
+
+        CalendarPage next = meetingService.getCalendar(1L, from, to, page.getNextCursor(), 2);
+
+        assertEquals(firstPage.subList(2, 3), next.getMeetings());
+        assertNull(next.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> meetingService.getCalendar(1L, from, to, "not-a-cursor", 2));
+    }
+
+    @Test
+    void testBookMeetingsChecksConflictsWithinTheBatch() {
+        Employee owner = new Employee("John Doe");
+        owner.setId(1L);
+        Employee participant = new Employee("Jane Doe");
+        participant.setId(2L);
+        when(employeeRepository.findByNameIn(anyList())).thenReturn(List.of(owner, participant));
+        AtomicLong ids = new AtomicLong(500);
+        doAnswer(invocation -> {
+            invocation.<Meeting>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Meeting.class));
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+        List<MeetingRequest> requests = List.of(
+                meetingRequest("John Doe", start, start.plusHours(1), "Jane Doe"),
+                meetingRequest("Jane Doe", start.plusMinutes(30), start.plusHours(2)),
+                meetingRequest("Nobody", start, start.plusHours(1)),
+                meetingRequest("Jane Doe", start.plusHours(1), start.plusHours(2)));
+
+        List<BatchBookingResult> results = meetingService.bookMeetings(requests);
+
+        assertEquals(BatchBookingResult.Status.ACCEPTED, results.get(0).getStatus());
+        assertEquals(501L, results.get(0).getMeetingId());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(1).getStatus());
+        assertEquals("Meeting time conflicts with an existing meeting for the owner", results.get(1).getMessage());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(BatchBookingResult.Status.ACCEPTED, results.get(3).getStatus());
+        verify(entityManager, times(2)).persist(any(Meeting.class));
+        verify(employeeRepository, times(1)).findByNameIn(anyList());
+
+        // Accepted meetings are visible to later conflict checks
+        Meeting overlapping = new Meeting(start, start.plusMinutes(15), owner, List.of(participant));
+        assertEquals(List.of(participant), meetingService.findParticipantsWithConflicts(overlapping));
+    }
+
+    private MeetingRequest meetingRequest(String owner, LocalDateTime start, LocalDateTime end, String... participants) {
+        MeetingRequest request = new MeetingRequest();
+        request.setOwnerName(owner);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        request.setParticipants(List.of(participants));
+        return request;
+    }
+
+    @Test
+    void testFreeSlotsAreCachedUntilABookingTouchesTheRange() {
+        Employee emp1 = new Employee();
+        emp1.setId(1L);
+        emp1.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(emp1));
+
+        Employee emp2 = new Employee();
+        emp2.setId(2L);
+        emp2.setName("Jane Smith");
+
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        Duration hour = Duration.ofHours(1);
+        List<LocalDateTime> first = meetingService.findFreeSlots(emp1, emp2, hour, day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay());
+        // Employee order does not matter for the cache key
+        assertEquals(first, meetingService.findFreeSlots(emp2, emp1, hour, day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay()));
+        assertEquals(1, freeSlotResults.stats().hitCount());
+
+        // A booking on another day leaves the entry alone
+        meetingService.bookMeeting(emp1, day.plusDays(1).atTime(10, 0), day.plusDays(1).atTime(11, 0), List.of());
+        meetingService.findFreeSlots(emp1, emp2, hour, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        assertEquals(2, freeSlotResults.stats().hitCount());
+
+        // A booking for either employee on that day is reflected immediately
+        meetingService.bookMeeting(emp1, day.atTime(10, 0), day.atTime(11, 0), List.of(emp2));
+        List<LocalDateTime> afterBooking = meetingService.findFreeSlots(emp1, emp2, hour, day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay());
+        assertEquals(2, freeSlotResults.stats().hitCount());
+        assertTrue(first.contains(day.atTime(10, 0)));
+        assertFalse(afterBooking.contains(day.atTime(10, 0)));
+        assertEquals(first.size() - 1, afterBooking.size());
+    }
+
+    @Test
+    void testInvalidationDropsOnlyTheEmployeesEntriesInTheRange() {
+        FreeSlotCache cache = new FreeSlotCache(freeSlotResults);
+        FreeSlotCache.Key shared = new FreeSlotCache.Key(List.of(1L, 2L), 0, 100, 30, 15, 0, 0);
+        FreeSlotCache.Key other = new FreeSlotCache.Key(List.of(3L), 0, 100, 30, 15, 0, 0);
+        FreeSlotCache.Key later = new FreeSlotCache.Key(List.of(1L), 200, 300, 30, 15, 0, 0);
+        for (FreeSlotCache.Key key : List.of(shared, other, later)) {
+            cache.get(key, () -> new long[] { 0 });
+        }
+
+        cache.invalidate(1L, 50, 150);
+        assertEquals(Set.of(other, later), freeSlotResults.asMap().keySet());
+
+        // Evicted behind the index's back, then invalidated: nothing left to drop or to fail on
+        freeSlotResults.invalidate(later);
+        cache.invalidate(1L);
+        assertEquals(Set.of(other), freeSlotResults.asMap().keySet());
+    }
+
+    @Test
+    void testBitsetEngineFindsTheSameSlotsAndSeesNewBookings() {
+        ReflectionTestUtils.setField(meetingService, "freeSlotEngine", "bitset");
+        ReflectionTestUtils.setField(meetingService, "freeSlotCacheEnabled", false);
+        Employee emp1 = new Employee();
+        emp1.setId(1L);
+        emp1.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(emp1));
+        Employee emp2 = new Employee();
+        emp2.setId(2L);
+        emp2.setName("Jane Smith");
+
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        givenCalendar(1L, List.of(new BusyInterval(10L, day.atTime(9, 0), day.atTime(9, 30))));
+        givenCalendar(2L, List.of(new BusyInterval(11L, day.atTime(10, 0), day.atTime(10, 30))));
+        Duration half = Duration.ofMinutes(30);
+        List<LocalDateTime> slots = meetingService.findFreeSlots(List.of(emp1, emp2), half, half,
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay(), LocalTime.of(9, 0), LocalTime.of(12, 0));
+        assertEquals(List.of(day.atTime(9, 30), day.atTime(10, 30), day.atTime(11, 0), day.atTime(11, 30)), slots);
+
+        // The cached day bitsets of both attendees are dropped by the booking
+        meetingService.bookMeeting(emp1, day.atTime(11, 0), day.atTime(11, 30), List.of(emp2));
+        slots = meetingService.findFreeSlots(List.of(emp1, emp2), half, half, day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay(), LocalTime.of(9, 0), LocalTime.of(12, 0));
+        assertEquals(List.of(day.atTime(9, 30), day.atTime(10, 30), day.atTime(11, 30)), slots);
+    }
+
+    @Test
+    void testSuggestionsRankOptionalAttendeesPreferredHoursAndFit() {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName("Employee " + id);
+            employees.add(employee);
+        }
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        givenCalendar(1L, List.of(new BusyInterval(10L, day.atTime(11, 30), day.atTime(12, 0))));
+        givenCalendar(2L, List.of(new BusyInterval(11L, day.atTime(9, 0), day.atTime(10, 0))));
+
+        List<MeetingSuggestion> suggestions = meetingService.suggestMeetingTimes(employees.subList(0, 1),
+                employees.subList(1, 2), Duration.ofHours(1), Duration.ofMinutes(30), day.atTime(9, 0),
+                day.atTime(12, 0), LocalTime.of(10, 30), LocalTime.of(12, 0), 2);
+
+        // 10:30 suits everyone, is preferred and ends against the 11:30 meeting; 10:00 starts before
+        // the preferred hours and leaves a half-hour gap; 09:xx slots lose the optional attendee
+        assertEquals(List.of(day.atTime(10, 30), day.atTime(10, 0)),
+                suggestions.stream().map(MeetingSuggestion::getStartTime).collect(Collectors.toList()));
+        assertEquals(0.95, suggestions.get(0).getScore(), 1e-9);
+        assertEquals(List.of("Employee 2"), suggestions.get(0).getAvailableOptional());
+        assertEquals(List.of(), suggestions.get(0).getUnavailableOptional());
+        assertTrue(suggestions.get(1).getScore() < suggestions.get(0).getScore());
+    }
+
+    @Test
+    void testAvailabilityHeatmapCountsFreeEmployeesPerBucket() {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName("Employee " + id);
+            employees.add(employee);
+        }
+        // Listed twice, counted once
+        employees.add(employees.get(0));
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        givenCalendar(1L, List.of(new BusyInterval(10L, day.atTime(9, 0), day.atTime(9, 30))));
+        givenCalendar(2L, List.of(new BusyInterval(11L, day.atTime(9, 45), day.atTime(10, 15))));
+        ReflectionTestUtils.setField(meetingService, "heatmapPool", new ForkJoinPool(2));
+
+        AvailabilityHeatmap heatmap = meetingService.availabilityHeatmap(employees, day.atTime(9, 0),
+                day.atTime(12, 30), Duration.ofHours(1));
+
+        assertEquals(3, heatmap.getEmployees());
+        assertEquals(day.atTime(9, 0), heatmap.getFrom());
+        assertArrayEquals(new int[] { 1, 2, 3, 3 }, heatmap.getFree());
+    }
+
+    @Test
+    void testSeriesOccurrencesBlockBookingsAndFreeSlots() {
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
+
+        // Weekly stand-up on Mondays 09:00-09:15, stored once
+        LocalDateTime firstStandup = LocalDateTime.of(2030, 1, 7, 9, 0);
+        MeetingSeries standup = new MeetingSeries(firstStandup, 15, MeetingSeries.Frequency.WEEKLY, 1, null, owner,
+                List.of(), Set.of());
+        standup.setId(7L);
+        when(seriesRepository.findByEmployeeIds(anyCollection())).thenReturn(List.of(standup));
+
+        LocalDateTime monday = firstStandup.plusWeeks(100);
+        assertThrows(ConflictException.class,
+                () -> meetingService.bookMeeting(owner, monday.plusMinutes(10), monday.plusHours(1), List.of()));
+        meetingService.bookMeeting(owner, monday.plusMinutes(15), monday.plusHours(1), List.of());
+
+        List<LocalDateTime> slots = meetingService.findFreeSlots(List.of(owner), Duration.ofMinutes(15),
+                Duration.ofMinutes(15), monday.withHour(8), monday.withHour(11), null, null);
+        assertEquals(List.of(monday.withHour(8), monday.withHour(8).plusMinutes(15),
+                monday.withHour(8).plusMinutes(30), monday.withHour(8).plusMinutes(45),
+                monday.withHour(10), monday.withHour(10).plusMinutes(15), monday.withHour(10).plusMinutes(30),
+                monday.withHour(10).plusMinutes(45)), slots);
+    }
+
+    @Test
+    void testBookSeriesRejectsOccurrencesThatHitExistingMeetings() {
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
+
+        Employee participant = new Employee();
+        participant.setId(2L);
+        participant.setName("Jane Doe");
+
+        // The participant is busy on the third Monday
+        LocalDateTime first = LocalDateTime.of(2030, 1, 7, 9, 0);
+        givenCalendar(2L, List.of(new BusyInterval(10L, first.plusWeeks(2), first.plusWeeks(2).plusHours(1))));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> meetingService.bookSeries(owner, first, first.plusMinutes(15), List.of(participant),
+                        MeetingSeries.Frequency.WEEKLY, 1, null, null));
+        assertEquals("Participant Jane Doe has a meeting conflict", exception.getMessage());
+
+        // Skipping that Monday lets the series through
+        when(seriesRepository.save(any(MeetingSeries.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MeetingSeries series = meetingService.bookSeries(owner, first, first.plusMinutes(15), List.of(participant),
+                MeetingSeries.Frequency.WEEKLY, 1, null, Set.of(first.plusWeeks(2).toLocalDate()));
+        assertEquals(15, series.getDurationMinutes());
+    }
+
+    @Test
+    void testBookingsAndSlotSearchesAreTimedByOutcomeAndAttendeeCount() {
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setName("John Doe");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(owner));
+        Employee participant = new Employee();
+        participant.setId(2L);
+        participant.setName("Jane Doe");
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+        givenCalendar(2L, List.of(new BusyInterval(10L, start, start.plusHours(1))));
+        meetingService.bookMeeting(owner, start.plusHours(1), start.plusHours(2), List.of(participant));
+        assertThrows(ConflictException.class,
+                () -> meetingService.bookMeeting(owner, start, start.plusHours(1), List.of(participant)));
+        Employee stranger = new Employee();
+        stranger.setId(9L);
+        assertThrows(NotFoundException.class, () -> meetingService.bookMeeting(stranger, start, start.plusHours(1),
+                List.of()));
+        meetingService.findFreeSlots(owner, participant, Duration.ofMinutes(30), start, start.plusHours(4));
+
+        assertEquals(1, meterRegistry.get("meeting.booking").tags("outcome", "ok", "attendees", "2").timer().count());
+        assertEquals(1,
+                meterRegistry.get("meeting.booking").tags("outcome", "conflict", "attendees", "2").timer().count());
+        assertEquals(1,
+                meterRegistry.get("meeting.booking").tags("outcome", "not-found", "attendees", "1").timer().count());
+        assertEquals(1, meterRegistry.get("meeting.conflicts.check").tags("outcome", "conflict").timer().count());
+        assertEquals(1, meterRegistry.get("meeting.slots.search").tags("outcome", "ok").timer().count());
+        // 09:00-11:00 is busy for one of the two, leaving 11:00-13:00 in four half-hour slots
+        assertEquals(4, meterRegistry.get("meeting.slots.found").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("meeting.slots.busy.intervals").summary().totalAmount());
+    }
+
+    @Test
+    void testEditsCheckOnlyTheAddedTimeAndTheJoiningParticipants() {
+        Employee owner = employee(1L, "John Doe");
+        Employee participant = employee(2L, "Jane Doe");
+        Employee joining = employee(3L, "Max Mustermann");
+        LocalDateTime nine = LocalDateTime.of(2030, 1, 7, 9, 0);
+        Meeting meeting = new Meeting(nine, nine.plusHours(1), owner, new ArrayList<>(List.of(participant)));
+        meeting.setId(50L);
+        when(meetingRepository.findForUpdateById(50L)).thenReturn(Optional.of(meeting));
+        when(meetingRepository.findWithAttendeesById(50L)).thenReturn(Optional.of(meeting));
+        givenCalendar(1L, List.of(new BusyInterval(50L, nine, nine.plusHours(1))));
+        givenCalendar(2L, List.of(new BusyInterval(50L, nine, nine.plusHours(1)),
+                new BusyInterval(7L, nine.plusHours(2), nine.plusHours(3))));
+        givenCalendar(3L, List.of(new BusyInterval(8L, nine.plusMinutes(75), nine.plusHours(2))));
+
+        // Running into the participant's 11:00 meeting
+        ConflictException conflict = assertThrows(ConflictException.class,
+                () -> meetingService.rescheduleMeeting(50L, nine.plusMinutes(90), nine.plusMinutes(150)));
+        assertEquals(List.of("Jane Doe"), conflict.getConflictingAttendees());
+        assertEquals(nine, meeting.getStartTime());
+
+        // Only 10:00-10:30 is new to the attendees; 09:00-09:30 is released
+        meetingService.rescheduleMeeting(50L, nine.plusMinutes(30), nine.plusMinutes(90));
+        assertFalse(isBusy(owner, nine, nine.plusMinutes(30)));
+        assertTrue(isBusy(participant, nine.plusHours(1), nine.plusMinutes(90)));
+
+        // The joining employee is busy from 10:15 and is checked over the whole meeting
+        conflict = assertThrows(ConflictException.class,
+                () -> meetingService.changeParticipants(50L, List.of(joining), List.of()));
+        assertEquals(List.of("Max Mustermann"), conflict.getConflictingAttendees());
+        Meeting updated = meetingService.changeParticipants(50L, List.of(), List.of(participant, owner));
+        assertEquals(owner, updated.getOwner());
+        assertEquals(List.of(), updated.getParticipants());
+        assertFalse(isBusy(participant, nine.plusMinutes(30), nine.plusMinutes(90)));
+        assertTrue(isBusy(owner, nine.plusMinutes(30), nine.plusMinutes(90)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.rescheduleMeeting(50L, nine.plusHours(1), nine));
+    }
+
+    @Test
+    void testCancelledMeetingFreesItsAttendeesAndCachedSlots() {
+        Employee owner = employee(1L, "John Doe");
+        Employee participant = employee(2L, "Jane Doe");
+        LocalDateTime nine = LocalDateTime.of(2030, 1, 7, 9, 0);
+        Meeting meeting = new Meeting(nine.plusHours(1), nine.plusHours(2), owner,
+                new ArrayList<>(List.of(participant)));
+        meeting.setId(50L);
+        when(meetingRepository.findForUpdateById(50L)).thenReturn(Optional.of(meeting));
+        when(meetingRepository.findWithAttendeesById(50L)).thenReturn(Optional.of(meeting));
+        givenCalendar(1L, List.of(new BusyInterval(50L, nine.plusHours(1), nine.plusHours(2))));
+        givenCalendar(2L, List.of(new BusyInterval(50L, nine.plusHours(1), nine.plusHours(2))));
+        assertFalse(meetingService.findFreeSlots(owner, participant, Duration.ofHours(1), nine, nine.plusHours(3))
+                .contains(nine.plusHours(1)));
+
+        meetingService.cancelMeeting(50L);
+
+        verify(meetingRepository).delete(meeting);
+        assertFalse(isBusy(owner, nine, nine.plusHours(3)));
+        assertFalse(isBusy(participant, nine, nine.plusHours(3)));
+        assertEquals(List.of(nine, nine.plusHours(1), nine.plusHours(2)),
+                meetingService.findFreeSlots(owner, participant, Duration.ofHours(1), nine, nine.plusHours(3)));
+        assertThrows(NotFoundException.class, () -> meetingService.cancelMeeting(51L));
+    }
+
+    @Test
+    void testTimelineLoadedWhileAChangeCommitsIsLoadedAgain() {
+        Employee owner = employee(1L, "John Doe");
+        LocalDateTime nine = LocalDateTime.of(2030, 1, 7, 9, 0);
+        Meeting meeting = new Meeting(nine, nine.plusHours(1), owner, List.of());
+        meeting.setId(50L);
+        MeetingCalendarIndex index = (MeetingCalendarIndex) ReflectionTestUtils.getField(meetingService,
+                "calendarIndex");
+        AtomicLong loads = new AtomicLong();
+        // The first read still sees the meeting; its cancellation commits before the timeline is in
+        when(meetingRepository.findBusyIntervalsByEmployeeIds(anyCollection())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() > 1) {
+                return List.of();
+            }
+            index.recordUpdate(meeting, null);
+            return List.of(new AttendeeBusyInterval(1L, 50L, nine, nine.plusHours(1)));
+        });
+
+        assertFalse(isBusy(owner, nine, nine.plusHours(1)));
+        assertEquals(2, loads.get());
+    }
+
+    private static Employee employee(Long id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        return employee;
+    }
+
+    @Test
+    void testIndexAnswersLikeAScanAfterLongMeetingsComeAndGo() {
+        MeetingCalendarIndex index = (MeetingCalendarIndex) ReflectionTestUtils.getField(meetingService,
+                "calendarIndex");
+        Employee owner = employee(99L, "Index Owner");
+        Random random = new Random(7);
+        List<long[]> meetings = new ArrayList<>();
+        long[] triples = new long[3 * 500];
+        for (int i = 0; i < 500; i++) {
+            long start = random.nextInt(60 * 24 * 60);
+            // Every twentieth meeting is a week-long offsite
+            long length = i % 20 == 0 ? 7 * 24 * 60 : 15 + random.nextInt(120);
+            meetings.add(new long[] { i + 1, start, start + length });
+            System.arraycopy(meetings.get(i), 0, triples, 3 * i, 3);
+        }
+        index.restore(Map.of(99L, triples));
+
+        // Cancel the offsites and some others; the timeline must not keep looking back a week
+        for (int i = 0; i < 500; i += 4) {
+            long[] meeting = meetings.get(i);
+            Meeting cancelled = new Meeting(EpochMinutes.toDateTime(meeting[1]), EpochMinutes.toDateTime(meeting[2]),
+                    owner, List.of());
+            cancelled.setId(meeting[0]);
+            index.recordDurableCancellation(cancelled);
+        }
+        meetings.removeIf(meeting -> (meeting[0] - 1) % 4 == 0);
+        meetings.sort((a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(a[0], b[0]));
+
+        for (int q = 0; q < 2000; q++) {
+            long start = random.nextInt(62 * 24 * 60);
+            long end = start + 1 + random.nextInt(600);
+            List<Long> expected = new ArrayList<>();
+            for (long[] meeting : meetings) {
+                if (meeting[1] < end && meeting[2] > start) {
+                    expected.add(meeting[1]);
+                    expected.add(meeting[2]);
+                }
+            }
+            assertEquals(!expected.isEmpty(), index.hasOverlap(99L, start, end));
+            assertEquals(expected, Arrays.stream(index.busyMinutes(owner, start, end)).boxed()
+                    .collect(Collectors.toList()));
+        }
+        assertEquals(3 * meetings.size(), index.loadedMeetings().get(99L).length);
+    }
+
+    private boolean isBusy(Employee employee, LocalDateTime start, LocalDateTime end) {
+        MeetingCalendarIndex index = (MeetingCalendarIndex) ReflectionTestUtils.getField(meetingService,
+                "calendarIndex");
+        return index.hasOverlap(employee, start, end);
+    }
 }
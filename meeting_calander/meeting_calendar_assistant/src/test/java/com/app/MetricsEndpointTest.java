@@ -0,0 +1,47 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.app.entities.Employee;
+import com.app.service.EmployeeService;
+
+// Scrapes /actuator/prometheus after real requests, the way a local Prometheus would; metrics
+// export is off in Spring Boot tests unless asked for
+@AutoConfigureMetrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void testPrometheusScrapeShowsMeetingMetrics() {
+        employeeService.createEmployee(new Employee("Metrics A"));
+        employeeService.createEmployee(new Employee("Metrics B"));
+        ResponseEntity<String> slots = rest.getForEntity(
+                "/api/meetings/free-slots?emp1=Metrics A&emp2=Metrics B&durationMinutes=30&date=2031-06-02",
+                String.class);
+        assertEquals(HttpStatus.OK, slots.getStatusCode());
+
+        String scrape = rest.getForObject("/actuator/prometheus", String.class);
+
+        assertTrue(scrape.contains("meeting_slots_search_seconds_bucket{attendees=\"2\",outcome=\"ok\""), scrape);
+        assertTrue(scrape.contains("meeting_slots_found_count{attendees=\"2\""), scrape);
+        // Statements issued on the meeting executor are counted for the request that started them
+        assertTrue(scrape.contains("meeting_request_queries_count{uri=\"/api/meetings/free-slots\""), scrape);
+        assertFalse(scrape.contains("meeting_request_queries_sum{uri=\"/api/meetings/free-slots\",} 0.0"), scrape);
+    }
+}
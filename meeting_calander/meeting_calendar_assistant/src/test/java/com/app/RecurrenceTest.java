@@ -0,0 +1,82 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.entities.MeetingSeries.Frequency;
+import com.app.service.EpochMinutes;
+import com.app.service.Recurrence;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private static long minute(LocalDateTime time) {
+        return EpochMinutes.floor(time);
+    }
+
+    @Test
+    void testWeeklyOccurrencesInAWindowYearsAfterTheStart() {
+        Recurrence standup = new Recurrence(1L, MONDAY, 15, Frequency.WEEKLY, 1, null, List.of());
+
+        LocalDateTime monday = MONDAY.plusWeeks(520);
+        long[] occurrences = standup.occurrences(minute(monday.minusDays(1)), minute(monday.plusDays(8)));
+
+        assertArrayEquals(new long[] { minute(monday), minute(monday) + 15, minute(monday.plusWeeks(1)),
+                minute(monday.plusWeeks(1)) + 15 }, occurrences);
+    }
+
+    @Test
+    void testOccurrenceStartingBeforeTheWindowStillOverlaps() {
+        Recurrence daily = new Recurrence(1L, MONDAY, 120, Frequency.DAILY, 2, null, List.of());
+
+        assertTrue(daily.hasOverlap(minute(MONDAY.plusDays(4).withHour(10)), minute(MONDAY.plusDays(4).withHour(11))));
+        assertFalse(daily.hasOverlap(minute(MONDAY.plusDays(3).withHour(10)), minute(MONDAY.plusDays(3).withHour(11))));
+        // Back-to-back with the end of an occurrence
+        assertFalse(daily.hasOverlap(minute(MONDAY.withHour(11)), minute(MONDAY.withHour(12))));
+    }
+
+    @Test
+    void testExceptionsAndUntilDateSkipOccurrences() {
+        Recurrence daily = new Recurrence(1L, MONDAY, 30, Frequency.DAILY, 1, LocalDate.of(2030, 1, 10),
+                List.of(LocalDate.of(2030, 1, 8)));
+
+        long[] occurrences = daily.occurrences(minute(MONDAY), minute(MONDAY.plusDays(30)));
+
+        assertArrayEquals(new long[] { minute(MONDAY), minute(MONDAY) + 30, minute(MONDAY.plusDays(2)),
+                minute(MONDAY.plusDays(2)) + 30, minute(MONDAY.plusDays(3)), minute(MONDAY.plusDays(3)) + 30 },
+                occurrences);
+        assertFalse(daily.hasOverlap(minute(MONDAY.plusDays(1)), minute(MONDAY.plusDays(1).plusHours(1))));
+    }
+
+    @Test
+    void testMonthlyOccurrencesClampToTheEndOfShortMonths() {
+        LocalDateTime first = LocalDateTime.of(2030, 1, 31, 14, 0);
+        Recurrence review = new Recurrence(1L, first, 60, Frequency.MONTHLY, 1, null, List.of());
+
+        long[] occurrences = review.occurrences(minute(LocalDateTime.of(2031, 2, 1, 0, 0)),
+                minute(LocalDateTime.of(2031, 4, 1, 0, 0)));
+
+        LocalDateTime february = LocalDateTime.of(2031, 2, 28, 14, 0);
+        LocalDateTime march = LocalDateTime.of(2031, 3, 31, 14, 0);
+        assertArrayEquals(new long[] { minute(february), minute(february) + 60, minute(march), minute(march) + 60 },
+                occurrences);
+    }
+
+    @Test
+    void testOccurrencesAreCappedAtTheRequestedCount() {
+        Recurrence daily = new Recurrence(1L, MONDAY, 30, Frequency.DAILY, 1, null, List.of());
+
+        long[] occurrences = daily.occurrences(minute(MONDAY), minute(MONDAY.plusYears(10)), 2);
+
+        assertArrayEquals(new long[] { minute(MONDAY), minute(MONDAY) + 30, minute(MONDAY.plusDays(1)),
+                minute(MONDAY.plusDays(1)) + 30 }, occurrences);
+    }
+}
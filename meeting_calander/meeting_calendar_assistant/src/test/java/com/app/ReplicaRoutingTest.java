@@ -0,0 +1,88 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.app.custom_exceptions.ConflictException;
+import com.app.entities.Employee;
+import com.app.service.EmployeeService;
+import com.app.service.MeetingService;
+
+// Two embedded databases stand in for the primary and a replica that never catches up, so every
+// read shows which one it came from
+class ReplicaRoutingTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2031, 10, 6, 9, 0);
+
+    private static final long MAX_LAG_MILLIS = 300;
+
+    @Test
+    void testReadsUseTheReplicaExceptRightAfterAWrite() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        String primaryUrl = "jdbc:h2:mem:primary_" + suffix + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        String replicaUrl = "jdbc:h2:mem:replica_" + suffix + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(replicaUrl, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", ""));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + primaryUrl,
+                "--meeting.datasource.replica.enabled=true",
+                "--meeting.datasource.replica.url=" + replicaUrl,
+                "--meeting.datasource.replica.max-lag-ms=" + MAX_LAG_MILLIS)) {
+            EmployeeService employees = context.getBean(EmployeeService.class);
+            MeetingService meetings = context.getBean(MeetingService.class);
+            JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class));
+
+            Employee owner = employees.createEmployee(new Employee("Replica Owner"));
+            Employee guest = employees.createEmployee(new Employee("Replica Guest"));
+            // Replicate the directory by hand, plus a row the primary does not have
+            for (Employee employee : List.of(owner, guest)) {
+                replica.update("insert into employee (id, name) values (?, ?)", employee.getId(), employee.getName());
+            }
+            replica.update("insert into employee (id, name) values (?, ?)", 1000L, "Only On Replica");
+            Thread.sleep(MAX_LAG_MILLIS + 100);
+            assertEquals(1000L, employees.findByName("Only On Replica").getId());
+
+            // Bookings go to the primary
+            meetings.bookMeeting(owner, NINE, NINE.plusHours(1), List.of(guest));
+            assertEquals(1, primary.queryForObject("select count(*) from meeting", Integer.class));
+            assertEquals(0, replica.queryForObject("select count(*) from meeting", Integer.class));
+
+            // Right after the booking its attendees are read from the primary...
+            assertEquals(1, meetings.getCalendar(guest.getId(), NINE.minusDays(1), NINE.plusDays(1), null, 10)
+                    .getMeetings().size());
+            // ...and once the replica had time to catch up, from the replica again
+            Thread.sleep(MAX_LAG_MILLIS + 100);
+            assertEquals(0, meetings.getCalendar(guest.getId(), NINE.minusDays(1), NINE.plusDays(1), null, 10)
+                    .getMeetings().size());
+
+            // A calendar first needed by a replica read is still loaded from the primary, as
+            // bookings are checked against the same in-memory copy
+            Employee cold = employees.createEmployee(new Employee("Replica Cold"));
+            replica.update("insert into employee (id, name) values (?, ?)", cold.getId(), cold.getName());
+            primary.update("insert into meeting (id, start_time, end_time, owner_id, start_day, span_days) "
+                    + "values (?, ?, ?, ?, ?, 0)", 5000L, Timestamp.valueOf(NINE), Timestamp.valueOf(NINE.plusHours(1)),
+                    cold.getId(), (int) NINE.toLocalDate().toEpochDay());
+            Thread.sleep(MAX_LAG_MILLIS + 100);
+            assertEquals(List.of(NINE.plusHours(1)), meetings.findFreeSlots(List.of(cold), Duration.ofHours(1),
+                    Duration.ofHours(1), NINE, NINE.plusHours(2), null, null));
+            assertThrows(ConflictException.class,
+                    () -> meetings.bookMeeting(cold, NINE, NINE.plusHours(1), List.of()));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.app.entities.Employee;
+import com.app.service.EmployeeService;
+import com.app.service.MeetingService;
+
+// Drives /api/meetings/free-slots over HTTP with a growing number of concurrent clients, once with
+// requests running on the bounded meeting executor and once on the Tomcat request threads, and
+// reports p50/p99 latency and throughput per level to the test report. Tomcat is limited to a few
+// threads so the blocking model saturates the way it does under bursty production load. Tagged
+// "load" and left out of the default build: mvn -Pjmh test -Dtest=RequestLoadTest
+@Tag("load")
+class RequestLoadTest {
+
+    private static final int EMPLOYEES = 20;
+    private static final int REQUESTS_PER_LEVEL = 800;
+    private static final int[] CLIENTS = { 8, 32, 128 };
+
+    @Test
+    void testAsyncAndBlockingExecutionUnderLoad(TestReporter reporter) throws Exception {
+        for (boolean async : new boolean[] { false, true }) {
+            try (ServletWebServerApplicationContext context = start(async)) {
+                seed(context);
+                String base = "http://localhost:" + context.getWebServer().getPort() + "/api/meetings/free-slots";
+                double maxRps = 0;
+                for (int clients : CLIENTS) {
+                    long[] latencies = new long[REQUESTS_PER_LEVEL];
+                    AtomicInteger failures = new AtomicInteger();
+                    long nanos = runLevel(base, clients, latencies, failures);
+
+                    assertEquals(0, failures.get(), "failed requests with " + clients + " clients");
+                    double rps = REQUESTS_PER_LEVEL * 1e9 / nanos;
+                    maxRps = Math.max(maxRps, rps);
+                    Arrays.sort(latencies);
+                    String level = (async ? "async" : "blocking") + "." + clients + "-clients";
+                    reporter.publishEntry(level + ".p50-ms", String.format("%.2f", percentile(latencies, 0.50) / 1e6));
+                    reporter.publishEntry(level + ".p99-ms", String.format("%.2f", percentile(latencies, 0.99) / 1e6));
+                    reporter.publishEntry(level + ".req-per-s", String.format("%.0f", rps));
+                }
+                reporter.publishEntry((async ? "async" : "blocking") + ".max-req-per-s", String.format("%.0f", maxRps));
+            }
+        }
+    }
+
+    private static ServletWebServerApplicationContext start(boolean async) {
+        // Command-line arguments take precedence over application.properties
+        return (ServletWebServerApplicationContext) new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=8",
+                "--spring.datasource.url=jdbc:h2:mem:load_" + async + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--meeting.async.enabled=" + async);
+    }
+
+    private static void seed(ServletWebServerApplicationContext context) {
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        MeetingService meetingService = context.getBean(MeetingService.class);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(employeeService.createEmployee(new Employee("Load " + i)));
+        }
+        LocalDate day = LocalDate.of(2031, 6, 2);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            meetingService.bookMeeting(employees.get(i), day.atTime(9 + i % 8, 0), day.atTime(10 + i % 8, 0),
+                    List.of());
+        }
+    }
+
+    private static long runLevel(String base, int clients, long[] latencies, AtomicInteger failures)
+            throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = next.getAndIncrement(); i < latencies.length; i = next.getAndIncrement()) {
+                    // Different pairs and durations, so requests are not all answered from one cache entry
+                    URI uri = URI.create(base + "?emp1=Load%20" + (i % EMPLOYEES) + "&emp2=Load%20"
+                            + ((i + 1) % EMPLOYEES) + "&durationMinutes=" + (15 + i % 90) + "&date=2031-06-02");
+                    long began = System.nanoTime();
+                    HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    latencies[i] = System.nanoTime() - began;
+                    if (response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - began;
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,56 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.entities.Employee;
+import com.app.entities.Meeting;
+import com.app.service.EmployeeService;
+import com.app.service.MeetingService;
+
+// A database created by ddl-auto=update before Flyway is baselined at V1 and migrated from there
+class SchemaMigrationTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2032, 3, 1, 9, 0);
+
+    @Test
+    void testBaselinedDatabaseGetsTheMeetingSequenceAboveExistingIds() throws SQLException {
+        String url = "jdbc:h2:mem:legacy_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("create table employee (id bigint generated by default as identity, "
+                    + "name varchar(255), primary key (id))");
+            statement.execute("create table meeting (id bigint generated by default as identity, "
+                    + "end_time timestamp, start_time timestamp, owner_id bigint, primary key (id), "
+                    + "foreign key (owner_id) references employee (id))");
+            statement.execute("create table meeting_participants (meeting_id bigint not null, "
+                    + "participant_id bigint not null, foreign key (meeting_id) references meeting (id), "
+                    + "foreign key (participant_id) references employee (id))");
+            // Rows written with auto-increment ids before the sequence existed
+            statement.execute("insert into employee (id, name) values (1, 'Legacy Booker')");
+            statement.execute("insert into meeting (id, start_time, end_time, owner_id) values "
+                    + "(120, timestamp '2032-02-01 09:00:00', timestamp '2032-02-01 10:00:00', 1)");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.flyway.baseline-on-migrate=true",
+                "--spring.flyway.baseline-version=1")) {
+            Employee owner = context.getBean(EmployeeService.class).createEmployee(new Employee("Legacy Owner"));
+            Meeting meeting = context.getBean(MeetingService.class).bookMeeting(owner, NINE, NINE.plusHours(1),
+                    List.of());
+            assertTrue(meeting.getId() > 120, "id " + meeting.getId());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.app.entities.Employee;
+import com.app.service.EmployeeService;
+import com.app.service.EpochMinutes;
+import com.app.service.MeetingService;
+import com.app.wire.CompactWire;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+// The same free slots and calendar page in plain JSON, slot ranges and CBOR, picked by Accept
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WireFormatTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2031, 7, 7, 12, 0);
+
+    private static final String SLOTS = "/api/meetings/free-slots/common?employees=Wire A&employees=Wire B"
+            + "&durationMinutes=30&stepMinutes=15&date=2031-07-07&workStart=09:00&workEnd=17:00";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testSlotRangesRoundTripThroughCbor() throws IOException {
+        long[] slots = LongStream.concat(LongStream.rangeClosed(0, 40).map(i -> 1_000_000 + 15 * i),
+                LongStream.of(1_000_700, 1_000_707, 1_003_000, 1_003_015)).toArray();
+        assertEquals(15, CompactWire.step(slots));
+        assertArrayEquals(new long[] { 1_000_000, 41, 1_000_700, 1, 1_000_707, 1, 1_003_000, 2 },
+                CompactWire.ranges(slots, 15));
+
+        CBORFactory cbor = new CBORFactory();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = cbor.createGenerator(bytes)) {
+            CompactWire.writeSlotRangesCbor(generator, slots);
+        }
+        assertArrayEquals(slots, CompactWire.readSlotRangesCbor(cbor.createParser(bytes.toByteArray())));
+        assertArrayEquals(new long[0], CompactWire.expand(CompactWire.ranges(new long[0], 1), 1));
+    }
+
+    @Test
+    void testFreeSlotsAndCalendarsFollowTheAcceptHeader() throws IOException {
+        Employee first = employeeService.createEmployee(new Employee("Wire A"));
+        employeeService.createEmployee(new Employee("Wire B"));
+        meetingService.bookMeeting(first, NOON, NOON.plusHours(1), List.of());
+        long[] expected = LongStream.concat(
+                LongStream.rangeClosed(0, 10).map(i -> EpochMinutes.floor(NOON.withHour(9)) + 15 * i),
+                LongStream.rangeClosed(0, 14).map(i -> EpochMinutes.floor(NOON.withHour(13)) + 15 * i)).toArray();
+
+        // JSON by default, unchanged
+        ResponseEntity<String> json = rest.getForEntity(SLOTS, String.class);
+        JsonNode array = objectMapper.readTree(json.getBody());
+        assertEquals(26, array.size());
+        assertEquals("2031-07-07T09:00:00", array.get(0).asText());
+
+        ResponseEntity<String> ranges = get(SLOTS, CompactWire.SLOT_RANGES_JSON, String.class);
+        assertEquals(CompactWire.SLOT_RANGES_JSON, ranges.getHeaders().getContentType());
+        assertEquals(objectMapper.readTree("{\"stepMinutes\":15,\"ranges\":["
+                + "{\"start\":\"2031-07-07T09:00:00\",\"count\":11},"
+                + "{\"start\":\"2031-07-07T13:00:00\",\"count\":15}]}"), objectMapper.readTree(ranges.getBody()));
+
+        ResponseEntity<byte[]> cbor = get(SLOTS, MediaType.APPLICATION_CBOR, byte[].class);
+        assertArrayEquals(expected, CompactWire.readSlotRangesCbor(new CBORFactory().createParser(cbor.getBody())));
+        assertTrue(cbor.getBody().length < ranges.getBody().length() && ranges.getBody().length() < json.getBody().length());
+
+        ResponseEntity<byte[]> calendar = get("/api/employees/" + first.getId()
+                + "/meetings?from=2031-07-07T00:00:00&to=2031-07-08T00:00:00", MediaType.APPLICATION_CBOR, byte[].class);
+        JsonNode meeting = new CBORMapper().readTree(calendar.getBody()).get("meetings").get(0);
+        assertEquals(EpochMinutes.floor(NOON), meeting.get(2).asLong());
+        assertEquals(60, meeting.get(3).asLong());
+        assertEquals("Wire A", meeting.get(5).asText());
+    }
+
+    private <T> ResponseEntity<T> get(String url, MediaType accept, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        return rest.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), type);
+    }
+}